@@ -0,0 +1,92 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.QuantityEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic catalog data shared by the benchmarks.
+ */
+final class Fixtures {
+    private static final String[] WORDS = {
+            "Wireless", "Mouse", "Keyboard", "Monitor", "Laptop", "Stand", "USB-C", "Hub", "Cable", "Dock",
+            "Headphones", "Speaker", "Webcam", "Charger", "Adapter", "Mechanical", "Ergonomic", "Portable"};
+
+    private Fixtures() {
+    }
+
+    static List<Product> products(int count) {
+        Random random = new Random(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Product(
+                        new UUID(random.nextLong(), random.nextLong()),
+                        WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i,
+                        i % 50 == 0 ? 0 : random.nextInt(1_000),
+                        BigDecimal.valueOf(random.nextInt(100_000) + 1, 2)))
+                .toList();
+    }
+
+    static List<ProductResponse> responses(int count) {
+        return products(count).stream()
+                .map(product -> new ProductResponse(product.getId(), product.getName(), product.getQuantity(), product.getPrice()))
+                .toList();
+    }
+
+    /**
+     * Transaction manager that does nothing, for collaborators that wrap repository calls in a {@code TransactionTemplate}.
+     */
+    static PlatformTransactionManager noTransactions() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+
+    /**
+     * Puts the transaction proxy the application context would create in front of {@code target}, so calls pay
+     * for its {@code @Transactional} boundaries as they do in the application.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T transactional(T target, PlatformTransactionManager transactionManager) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (T) proxyFactory.getProxy();
+    }
+
+    /**
+     * Quantity engine in its default, disabled mode, for services that take one as a collaborator.
+     */
+    static QuantityEngine disabledQuantityEngine(ProductRepository repository) {
+        return new QuantityEngine(repository, new SimpleMeterRegistry(), false, Path.of("unused"),
+                DataSize.ofMegabytes(1), true, Duration.ofSeconds(1), false);
+    }
+}
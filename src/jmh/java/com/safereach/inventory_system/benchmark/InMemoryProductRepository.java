@@ -0,0 +1,193 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.repository.ProductRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * {@link ProductRepository} stand-in backed by a map, so benchmarks measure the service layer rather
+ * than the database. Only the methods {@code ProductService} and its collaborators call are supported;
+ * specifications are ignored, so callers should pass an unfiltered {@code ProductFilter}.
+ */
+final class InMemoryProductRepository implements InvocationHandler {
+    private final Map<UUID, Product> products = new ConcurrentHashMap<>();
+    private volatile List<Product> byName = List.of();
+
+    static ProductRepository of(List<Product> products) {
+        InMemoryProductRepository handler = new InMemoryProductRepository();
+        products.forEach(product -> handler.products.put(product.getId(), copy(product)));
+        handler.reindex();
+        return (ProductRepository) Proxy.newProxyInstance(ProductRepository.class.getClassLoader(),
+                new Class<?>[]{ProductRepository.class}, handler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save" -> save((Product) args[0]);
+            case "findById" -> Optional.ofNullable(products.get((UUID) args[0])).map(InMemoryProductRepository::copy);
+            case "existsById" -> products.containsKey((UUID) args[0]);
+            case "existsByName" -> products.values().stream().anyMatch(product -> product.getName().equals(args[0]));
+            case "findResponseById" -> Optional.ofNullable(products.get((UUID) args[0])).map(InMemoryProductRepository::response);
+            case "findResponsesByNameContainingIgnoreCase" -> findByNameContainingIgnoreCase((String) args[0]).stream()
+                    .map(InMemoryProductRepository::response)
+                    .toList();
+            case "findResponses" -> args.length == 2
+                    ? findAll((Pageable) args[1]).map(InMemoryProductRepository::response)
+                    : byName.stream().limit((int) args[2]).map(InMemoryProductRepository::response).toList();
+            case "findAll" -> findAll((Pageable) args[args.length - 1]);
+            case "findByQuantity" -> products.values().stream()
+                    .filter(product -> product.getQuantity().equals(args[0]))
+                    .map(product -> new ProductSummaryResponse.OutOfStockProduct(product.getId(), product.getName()))
+                    .toList();
+            case "getProductSummary" -> summary();
+            case "streamAll" -> products.values().stream().map(InMemoryProductRepository::response);
+            case "adjustQuantity" -> adjustQuantity((UUID) args[0], (int) args[1]);
+            case "forEachQuantity" -> forEachQuantity((ObjIntConsumer<UUID>) args[0]);
+            case "writeQuantities" -> writeQuantities((Map<UUID, Integer>) args[0]);
+            case "delete" -> products.remove(((Product) args[0]).getId()) != null && reindex();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryProductRepository" + products.keySet();
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private Product save(Product product) {
+        Product stored = copy(product);
+        if (stored.getId() == null) {
+            stored.setId(UUID.randomUUID());
+        }
+        boolean added = products.put(stored.getId(), stored) == null;
+        if (added) {
+            reindex();
+        }
+        return copy(stored);
+    }
+
+    private List<Product> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return byName.stream()
+                .filter(product -> product.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .map(InMemoryProductRepository::copy)
+                .toList();
+    }
+
+    private Page<Product> findAll(Pageable pageable) {
+        List<Product> all = byName;
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to).stream().map(InMemoryProductRepository::copy).toList(),
+                pageable, all.size());
+    }
+
+    private Optional<ProductRepository.ProductProjection> adjustQuantity(UUID id, int delta) {
+        Product product = products.get(id);
+        if (product == null) {
+            return Optional.empty();
+        }
+        synchronized (product) {
+            long adjusted = (long) product.getQuantity() + delta;
+            if (adjusted < 0 || adjusted > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            product.setQuantity(product.getQuantity() + delta);
+            return Optional.of(projection(copy(product)));
+        }
+    }
+
+    private Void forEachQuantity(ObjIntConsumer<UUID> consumer) {
+        products.values().forEach(product -> consumer.accept(product.getId(), product.getQuantity()));
+        return null;
+    }
+
+    private int writeQuantities(Map<UUID, Integer> quantities) {
+        quantities.forEach((id, quantity) -> {
+            Product product = products.get(id);
+            if (product != null) {
+                synchronized (product) {
+                    product.setQuantity(quantity);
+                }
+            }
+        });
+        return quantities.size();
+    }
+
+    private ProductRepository.ProductSummaryProjection summary() {
+        long count = products.size();
+        long quantity = products.values().stream().mapToLong(Product::getQuantity).sum();
+        BigDecimal total = products.values().stream().map(Product::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal average = count == 0 ? null : BigDecimal.valueOf(total.doubleValue() / count);
+        return new ProductRepository.ProductSummaryProjection() {
+            public long getTotalProducts() {
+                return count;
+            }
+
+            public long getTotalQuantity() {
+                return quantity;
+            }
+
+            public BigDecimal getTotalPrice() {
+                return total;
+            }
+
+            public BigDecimal getAveragePrice() {
+                return average;
+            }
+        };
+    }
+
+    private boolean reindex() {
+        List<Product> sorted = new ArrayList<>(products.values());
+        sorted.sort(Comparator.comparing(Product::getName));
+        byName = List.copyOf(sorted);
+        return true;
+    }
+
+    private static ProductRepository.ProductProjection projection(Product product) {
+        return new ProductRepository.ProductProjection() {
+            public UUID getId() {
+                return product.getId();
+            }
+
+            public String getName() {
+                return product.getName();
+            }
+
+            public Integer getQuantity() {
+                return product.getQuantity();
+            }
+
+            public BigDecimal getPrice() {
+                return product.getPrice();
+            }
+        };
+    }
+
+    private static ProductResponse response(Product product) {
+        return new ProductResponse(product.getId(), product.getName(), product.getQuantity(), product.getPrice());
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getQuantity(), product.getPrice());
+    }
+}
@@ -0,0 +1,50 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct-generated conversions performed on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProductMapperBenchmark {
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private Product product;
+    private ProductRequest request;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.products(1).getFirst();
+        request = new ProductRequest(product.getName(), product.getQuantity(), product.getPrice());
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return mapper.toResponse(product);
+    }
+
+    @Benchmark
+    public Product toEntity() {
+        return mapper.toEntity(request);
+    }
+}
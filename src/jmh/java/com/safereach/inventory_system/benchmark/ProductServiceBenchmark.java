@@ -0,0 +1,131 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ProductFilter;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.mapper.ProductMapperImpl;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventoryVersion;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import com.safereach.inventory_system.service.ProductService;
+import com.safereach.inventory_system.service.QuantityEngine;
+import com.safereach.inventory_system.service.QuantityWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService} wired to its real in-memory collaborators (name index, summary engine, cache)
+ * and an {@link InMemoryProductRepository}, with change events delivered synchronously as they would be
+ * after commit. Measures the service layer's own overhead, not database time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProductServiceBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(3, 20, Sort.by("name", "id"));
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    private ProductService productService;
+    private List<UUID> ids;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = Fixtures.products(catalogSize);
+        ids = products.stream().map(Product::getId).toList();
+        ProductRepository repository = InMemoryProductRepository.of(products);
+        PlatformTransactionManager transactionManager = Fixtures.noTransactions();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        InventorySummaryEngine summaryEngine = new InventorySummaryEngine(repository, transactionManager);
+        ProductCache cache = new ProductCache(meterRegistry, 100_000, Duration.ofMinutes(5), false);
+        QuantityWriteBehindBuffer writeBehind = new QuantityWriteBehindBuffer(repository, event -> {
+        }, transactionManager, meterRegistry, false, Duration.ofMillis(50), 1_000, Duration.ofSeconds(1));
+        QuantityEngine quantityEngine = Fixtures.disabledQuantityEngine(repository);
+        ProductNameIndex nameIndex = new ProductNameIndex(repository, writeBehind, quantityEngine, transactionManager);
+        InventoryVersion version = new InventoryVersion();
+        productService = new ProductService(repository, new ProductMapperImpl(), summaryEngine, nameIndex,
+                writeBehind, quantityEngine, cache, version, event -> {
+            ProductChangedEvent changed = (ProductChangedEvent) event;
+            summaryEngine.onProductChanging(changed);
+            summaryEngine.onProductChanged(changed);
+            nameIndex.onProductChanged(changed);
+            cache.onProductChanged(changed);
+            version.onProductChanged(changed);
+        }, transactionManager, meterRegistry);
+        summaryEngine.reconcile();
+        nameIndex.rebuild();
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(randomId());
+    }
+
+    @Benchmark
+    public Page<ProductResponse> getAllProducts() {
+        return productService.getAllProducts(ProductFilter.NONE, PAGE);
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchProductByName() {
+        return productService.searchProductByName("board");
+    }
+
+    @Benchmark
+    public List<ProductResponse> suggestProducts() {
+        return productService.suggestProducts("mouse k", 10);
+    }
+
+    @Benchmark
+    public List<ProductResponse> suggestProductsShortPrefix() {
+        return productService.suggestProducts("m", 10);
+    }
+
+    @Benchmark
+    public ProductResponse updateProductQuantity() {
+        return productService.updateProductQuantity(randomId(), ThreadLocalRandom.current().nextInt(1, 1_000));
+    }
+
+    @Benchmark
+    public ProductResponse adjustProductQuantity() {
+        return productService.adjustProductQuantity(randomId(), 1);
+    }
+
+    @Benchmark
+    public ProductSummaryResponse getProductSummary() {
+        return productService.getProductSummary();
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
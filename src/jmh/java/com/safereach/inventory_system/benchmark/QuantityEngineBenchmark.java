@@ -0,0 +1,116 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.mapper.ProductMapperImpl;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.InventoryVersion;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import com.safereach.inventory_system.service.ProductService;
+import com.safereach.inventory_system.service.QuantityEngine;
+import com.safereach.inventory_system.service.QuantityWriteBehindBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of {@code updateProductQuantity} and {@code adjustProductQuantity} with the quantity
+ * engine enabled, including the change event and its listeners, called through the transaction proxy as the
+ * controller calls them. With {@code fsync=true} each call waits for a
+ * group-committed flush of the log to the temporary directory's file system; with {@code fsync=false} it only
+ * waits for the copy into the mapping. Compare the p0.99 rows with the database path's
+ * {@code inventory.service} histogram, where every call is at least one statement round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class QuantityEngineBenchmark {
+
+    @Param({"true", "false"})
+    public boolean fsync;
+
+    private Path walDirectory;
+    private QuantityEngine quantityEngine;
+    private ProductService productService;
+    private List<UUID> ids;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Product> products = Fixtures.products(10_000);
+        products.forEach(product -> product.setQuantity(1_000_000));
+        ids = products.stream().map(Product::getId).toList();
+        ProductRepository repository = InMemoryProductRepository.of(products);
+        PlatformTransactionManager transactionManager = Fixtures.noTransactions();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        walDirectory = Files.createTempDirectory("quantity-wal");
+
+        InventorySummaryEngine summaryEngine = new InventorySummaryEngine(repository, transactionManager);
+        ProductCache cache = new ProductCache(meterRegistry, 100_000, Duration.ofMinutes(5), true);
+        QuantityWriteBehindBuffer writeBehind = new QuantityWriteBehindBuffer(repository, event -> {
+        }, transactionManager, meterRegistry, false, Duration.ofMillis(50), 1_000, Duration.ofSeconds(1));
+        quantityEngine = new QuantityEngine(repository, meterRegistry, true, walDirectory, DataSize.ofMegabytes(64),
+                fsync, Duration.ofSeconds(1), false);
+        ProductNameIndex nameIndex = new ProductNameIndex(repository, writeBehind, quantityEngine, transactionManager);
+        InventoryVersion version = new InventoryVersion();
+        productService = Fixtures.transactional(new ProductService(repository, new ProductMapperImpl(), summaryEngine, nameIndex,
+                writeBehind, quantityEngine, cache, version, event -> {
+            ProductChangedEvent changed = (ProductChangedEvent) event;
+            summaryEngine.onProductChanging(changed);
+            summaryEngine.onProductChanged(changed);
+            nameIndex.onProductChanged(changed);
+            cache.onProductChanged(changed);
+            version.onProductChanged(changed);
+        }, transactionManager, meterRegistry), transactionManager);
+        summaryEngine.reconcile();
+        nameIndex.rebuild();
+        quantityEngine.recover();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        quantityEngine.shutdown();
+        FileSystemUtils.deleteRecursively(walDirectory);
+    }
+
+    @Benchmark
+    public ProductResponse updateProductQuantity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return productService.updateProductQuantity(ids.get(random.nextInt(ids.size())), random.nextInt(1_000_000));
+    }
+
+    @Benchmark
+    public ProductResponse adjustProductQuantity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return productService.adjustProductQuantity(ids.get(random.nextInt(ids.size())), random.nextBoolean() ? 1 : -1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two largest response bodies. Pages are wrapped in {@link PagedModel},
+ * matching the application's {@code VIA_DTO} page serialization mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+
+    /** Page size for the listing, and number of out-of-stock products in the summary. */
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private PagedModel<ProductResponse> page;
+    private ProductSummaryResponse summary;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        List<ProductResponse> products = Fixtures.responses(size);
+        page = new PagedModel<>(new PageImpl<>(products, PageRequest.of(0, size), 100_000));
+        summary = new ProductSummaryResponse(100_000, 49_950_000, BigDecimal.valueOf(500.12345678),
+                products.stream()
+                        .map(product -> new ProductSummaryResponse.OutOfStockProduct(product.id(), product.name()))
+                        .toList());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSummary() throws JsonProcessingException {
+        return writer.writeValueAsBytes(summary);
+    }
+}
@@ -0,0 +1,83 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.mapper.ProductMapperImpl;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.InventoryVersion;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import com.safereach.inventory_system.service.ProductService;
+import com.safereach.inventory_system.service.QuantityEngine;
+import com.safereach.inventory_system.service.QuantityWriteBehindBuffer;
+import com.safereach.inventory_system.service.StockReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserve-then-release pairs from many threads on a single hot product, the worst case for contention.
+ * Comparing {@code stripes=1} with the default shows what striping the availability counter buys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(16)
+public class StockReservationBenchmark {
+
+    @Param({"1", "16"})
+    public int stripes;
+
+    private StockReservationService reservationService;
+    private UUID productId;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = Fixtures.products(1);
+        Product hot = products.getFirst();
+        hot.setQuantity(1_000_000);
+        productId = hot.getId();
+        ProductRepository repository = InMemoryProductRepository.of(products);
+        PlatformTransactionManager transactionManager = Fixtures.noTransactions();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        QuantityWriteBehindBuffer writeBehind = new QuantityWriteBehindBuffer(repository, event -> {
+        }, transactionManager, meterRegistry, false, Duration.ofMillis(50), 1_000, Duration.ofSeconds(1));
+        QuantityEngine quantityEngine = Fixtures.disabledQuantityEngine(repository);
+        ProductService productService = new ProductService(repository, new ProductMapperImpl(),
+                new InventorySummaryEngine(repository, transactionManager), new ProductNameIndex(repository, writeBehind, quantityEngine, transactionManager),
+                writeBehind, quantityEngine, new ProductCache(meterRegistry, 10, Duration.ofMinutes(5), false), new InventoryVersion(), event -> {
+        }, transactionManager, meterRegistry);
+        reservationService = new StockReservationService(productService, writeBehind, meterRegistry,
+                Duration.ofMinutes(2), stripes, Duration.ofMillis(100), 2048);
+        // keeps the product's counters loaded, as steady traffic would
+        reservationService.reserve(productId, 1);
+    }
+
+    @Benchmark
+    public ReservationResponse reserveAndRelease() {
+        ReservationResponse reservation = reservationService.reserve(productId, 1);
+        reservationService.release(productId, reservation.id());
+        return reservation;
+    }
+}
@@ -0,0 +1,83 @@
+package com.safereach.inventory_system.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.wire.ProductColumnsDecoder;
+import com.safereach.inventory_system.wire.ProductColumnsEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against the binary product columns encoding for a listing page. Payload sizes for the same pages are
+ * printed once per fork, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WireFormatBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    private ObjectWriter jsonWriter;
+    private ObjectReader jsonReader;
+    private List<ProductResponse> products;
+    private byte[] json;
+    private byte[] columns;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonWriter = objectMapper.writer();
+        jsonReader = objectMapper.readerFor(new TypeReference<List<ProductResponse>>() {
+        });
+        products = Fixtures.responses(size);
+        try {
+            json = jsonWriter.writeValueAsBytes(products);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        columns = ProductColumnsEncoder.encode(products);
+        System.out.printf("%n%d products: json=%d bytes, columns=%d bytes%n", size, json.length, columns.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] encodeColumns() {
+        return ProductColumnsEncoder.encode(products);
+    }
+
+    @Benchmark
+    public List<ProductResponse> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<ProductResponse> decodeColumns() throws IOException {
+        return ProductColumnsDecoder.decode(columns);
+    }
+}
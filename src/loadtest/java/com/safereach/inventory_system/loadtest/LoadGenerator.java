@@ -0,0 +1,217 @@
+package com.safereach.inventory_system.loadtest;
+
+import com.safereach.inventory_system.InventorySystemApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Open-loop load generator for {@code ProductController}.
+ * <p>
+ * Requests are scheduled at a fixed rate and each one is sent on its own virtual thread, so a slow
+ * response never delays the requests scheduled after it. Latency is recorded from the scheduled send
+ * time, which keeps queueing delay in the histogram instead of silently lowering the offered load.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=500 --duration=PT2M"};
+ * see {@link LoadTestOptions} for all options.
+ */
+public final class LoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_CHUNK = 1_000;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Recorders> recorders = new EnumMap<>(Operation.class);
+
+    private LoadGenerator(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorders());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.target() != null) {
+            new LoadGenerator(options).run(options.target());
+            return;
+        }
+        if (options.database().equals("local")) {
+            try (ConfigurableApplicationContext context = boot(List.of())) {
+                new LoadGenerator(options).run(baseUrl(context));
+            }
+            return;
+        }
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                DockerImageName.parse("postgis/postgis:16-3.4-alpine").asCompatibleSubstituteFor("postgres"))) {
+            postgres.start();
+            try (ConfigurableApplicationContext context = boot(List.of(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "--spring.datasource.username=" + postgres.getUsername(),
+                    "--spring.datasource.password=" + postgres.getPassword()))) {
+                new LoadGenerator(options).run(baseUrl(context));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(List<String> datasource) {
+        List<String> args = new ArrayList<>(datasource);
+        args.add("--server.port=0");
+        return SpringApplication.run(InventorySystemApplication.class, args.toArray(String[]::new));
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private void run(String baseUrl) throws Exception {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        Operation.Catalog catalog = new Operation.Catalog(baseUrl, runId, seed(baseUrl, runId), new AtomicLong());
+        System.out.printf("Seeded %d products, warming up for %s at %d req/s%n",
+                catalog.ids().size(), options.warmup(), options.rate());
+
+        drive(catalog, options.warmup(), false);
+        Instant startedAt = Instant.now();
+        System.out.printf("Recording for %s%n", options.duration());
+        long sent = drive(catalog, options.duration(), true);
+
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, LoadReport.OperationStats> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> {
+            Histogram response = recorder.responseTime.getIntervalHistogram();
+            Histogram service = recorder.serviceTime.getIntervalHistogram();
+            if (response.getTotalCount() > 0) {
+                operations.put(operation.name().toLowerCase(), new LoadReport.OperationStats(
+                        response.getTotalCount(), recorder.errors.get(), response.getTotalCount() / seconds,
+                        LoadReport.Latency.of(response), LoadReport.Latency.of(service)));
+            }
+        });
+        LoadReport report = new LoadReport(options.label(), startedAt, options.mix().toString(), options.rate(),
+                sent / seconds, options.duration().toSeconds(), operations);
+        report.write(options.report());
+        report.print(System.out);
+        if (options.baseline() != null) {
+            report.printComparison(LoadReport.read(options.baseline()), System.out);
+        }
+        System.out.printf("%nReport written to %s%n", options.report().toAbsolutePath());
+    }
+
+    /**
+     * Issues requests on a fixed schedule for {@code duration} and waits for the last responses.
+     *
+     * @return the number of requests sent
+     */
+    private long drive(Operation.Catalog catalog, Duration duration, boolean record) throws InterruptedException {
+        long intervalNanos = 1_000_000_000L / options.rate();
+        long start = System.nanoTime();
+        long count = duration.toNanos() / intervalNanos;
+        if (!record) {
+            recorders.values().forEach(Recorders::reset);
+        }
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = options.mix().next();
+                senders.execute(() -> send(catalog, operation, intended));
+            }
+        }
+        if (!record) {
+            recorders.values().forEach(Recorders::reset);
+        }
+        return count;
+    }
+
+    private void send(Operation.Catalog catalog, Operation operation, long intended) {
+        Recorders recorder = recorders.get(operation);
+        HttpRequest request = operation.request(catalog).timeout(REQUEST_TIMEOUT).build();
+        long sent = System.nanoTime();
+        boolean failed;
+        try {
+            failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+        } catch (IOException ex) {
+            failed = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long end = System.nanoTime();
+        recorder.responseTime.recordValue(end - intended);
+        recorder.serviceTime.recordValue(end - sent);
+        if (failed) {
+            recorder.errors.incrementAndGet();
+        }
+    }
+
+    private List<UUID> seed(String baseUrl, String runId) throws IOException, InterruptedException {
+        List<UUID> ids = new ArrayList<>(options.products());
+        Operation.Catalog catalog = new Operation.Catalog(baseUrl, runId, ids, new AtomicLong());
+        for (int from = 0; from < options.products(); from += SEED_CHUNK) {
+            String body = IntStream.range(from, Math.min(from + SEED_CHUNK, options.products()))
+                    .mapToObj(i -> Operation.Catalog.json(
+                            Operation.Catalog.WORDS.get(i % Operation.Catalog.WORDS.size()) + " " + runId + "-" + i,
+                            i % 100, (i % 50_000 + 1) + ".99"))
+                    .collect(Collectors.joining(",", "[", "]"));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(catalog.uri("/products/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+                if (item.hasNonNull("product")) {
+                    ids.add(UUID.fromString(item.path("product").path("id").asText()));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Seeding created no products");
+        }
+        return List.copyOf(ids);
+    }
+
+    private static final class Recorders {
+        private final Recorder responseTime = new Recorder(3);
+        private final Recorder serviceTime = new Recorder(3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void reset() {
+            responseTime.reset();
+            serviceTime.reset();
+            errors.set(0);
+        }
+    }
+}
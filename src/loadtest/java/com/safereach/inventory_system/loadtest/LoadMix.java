@@ -0,0 +1,47 @@
+package com.safereach.inventory_system.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of {@link Operation}s, parsed from {@code name=weight} pairs.
+ */
+record LoadMix(Map<Operation, Integer> weights, int total) {
+
+    static LoadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            weights.merge(Operation.of(pair[0]), weight, Integer::sum);
+        }
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total == 0) {
+            throw new IllegalArgumentException("Mix has no operations: " + spec);
+        }
+        return new LoadMix(weights, total);
+    }
+
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        weights.forEach((operation, weight) -> spec.append(spec.isEmpty() ? "" : ",")
+                .append(operation.name().toLowerCase()).append('=').append(weight));
+        return spec.toString();
+    }
+}
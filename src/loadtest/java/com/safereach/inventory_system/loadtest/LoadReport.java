@@ -0,0 +1,93 @@
+package com.safereach.inventory_system.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one run, stored as JSON so that runs from different commits can be compared.
+ * Latencies are in milliseconds. {@code responseTime} is measured from when a request was scheduled
+ * to be sent, so it includes any time spent queued behind a slow system (corrected for coordinated
+ * omission); {@code serviceTime} is measured from when it was actually sent.
+ */
+record LoadReport(String label, Instant startedAt, String mix, int targetRate, double achievedRate,
+                  long durationSeconds, Map<String, OperationStats> operations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    record OperationStats(long count, long errors, double throughput, Latency responseTime, Latency serviceTime) {
+    }
+
+    record Latency(double p50, double p90, double p99, double p999, double max) {
+        static Latency of(Histogram histogram) {
+            return new Latency(millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1_000_000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%s  mix=%s  target=%d/s  achieved=%.1f/s  over %ds%n",
+                label.isEmpty() ? "run" : label, mix, targetRate, achievedRate, durationSeconds);
+        out.printf("%-8s %9s %7s %9s | %9s %9s %9s %9s %9s | %9s%n",
+                "op", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max", "svc p99");
+        new TreeMap<>(operations).forEach((name, stats) -> out.printf(
+                "%-8s %9d %7d %9.1f | %9.2f %9.2f %9.2f %9.2f %9.2f | %9.2f%n",
+                name, stats.count(), stats.errors(), stats.throughput(),
+                stats.responseTime().p50(), stats.responseTime().p90(), stats.responseTime().p99(),
+                stats.responseTime().p999(), stats.responseTime().max(), stats.serviceTime().p99()));
+    }
+
+    /**
+     * Prints the relative change of throughput and tail latency per operation against {@code baseline}.
+     */
+    void printComparison(LoadReport baseline, PrintStream out) {
+        out.printf("%nCompared with %s (%s):%n", baseline.label().isEmpty() ? "baseline" : baseline.label(), baseline.startedAt());
+        out.printf("%-8s %10s %10s %10s %10s%n", "op", "req/s", "p50", "p99", "p99.9");
+        new TreeMap<>(operations).forEach((name, stats) -> {
+            OperationStats before = baseline.operations().get(name);
+            if (before == null) {
+                out.printf("%-8s %10s%n", name, "new");
+                return;
+            }
+            out.printf("%-8s %10s %10s %10s %10s%n", name,
+                    change(before.throughput(), stats.throughput()),
+                    change(before.responseTime().p50(), stats.responseTime().p50()),
+                    change(before.responseTime().p99(), stats.responseTime().p99()),
+                    change(before.responseTime().p999(), stats.responseTime().p999()));
+        });
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? "0.0%" : "n/a";
+        }
+        return String.format("%+.1f%%", (after - before) * 100 / before);
+    }
+}
@@ -0,0 +1,46 @@
+package com.safereach.inventory_system.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param target     base URL of a running instance; when absent the application is booted in-process
+ * @param database   {@code container} to boot against a throwaway PostgreSQL container, {@code local} to use
+ *                   the datasource from {@code application.properties}; ignored when {@code target} is set
+ * @param rate       requests per second, issued on a fixed schedule regardless of how fast responses arrive
+ * @param warmup     how long to drive load before recording
+ * @param duration   how long to record
+ * @param mix        operation weights, e.g. {@code list=45,search=25,update=20,create=5,summary=5}
+ * @param products   catalog size seeded before the run
+ * @param report     where to write the JSON report
+ * @param baseline   optional earlier report to compare against
+ * @param label      free-form run label stored in the report, e.g. a commit id
+ */
+record LoadTestOptions(String target, String database, int rate, Duration warmup, Duration duration,
+                       LoadMix mix, int products, Path report, Path baseline, String label) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(
+                        arg -> arg.substring(2, arg.indexOf('=')),
+                        arg -> arg.substring(arg.indexOf('=') + 1),
+                        (first, second) -> second));
+        return new LoadTestOptions(
+                values.get("target"),
+                values.getOrDefault("database", "container"),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                LoadMix.parse(values.getOrDefault("mix", "list=45,search=25,update=20,create=5,summary=5")),
+                Integer.parseInt(values.getOrDefault("products", "10000")),
+                Path.of(values.getOrDefault("report", "target/loadtest/report.json")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                values.getOrDefault("label", ""));
+    }
+}
@@ -0,0 +1,82 @@
+package com.safereach.inventory_system.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The controller operations the generator can issue, each building its request from the seeded catalog.
+ */
+enum Operation {
+    LIST {
+        @Override
+        HttpRequest.Builder request(Catalog catalog) {
+            int pages = Math.max(1, catalog.ids().size() / 20);
+            return get(catalog, "/products?size=20&sortBy=price&page=" + ThreadLocalRandom.current().nextInt(pages));
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest.Builder request(Catalog catalog) {
+            return get(catalog, "/products/search?name=" + Catalog.WORDS.get(ThreadLocalRandom.current().nextInt(Catalog.WORDS.size())));
+        }
+    },
+    UPDATE {
+        @Override
+        HttpRequest.Builder request(Catalog catalog) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return HttpRequest.newBuilder(catalog.uri("/products/" + catalog.randomId() + "/quantity?quantity=" + random.nextInt(1_000)))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest.Builder request(Catalog catalog) {
+            String body = Catalog.json("lt-" + catalog.runId() + "-" + catalog.created().incrementAndGet(), 10, "9.99");
+            return HttpRequest.newBuilder(catalog.uri("/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    SUMMARY {
+        @Override
+        HttpRequest.Builder request(Catalog catalog) {
+            return get(catalog, "/products/summary");
+        }
+    };
+
+    abstract HttpRequest.Builder request(Catalog catalog);
+
+    static Operation of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static HttpRequest.Builder get(Catalog catalog, String path) {
+        return HttpRequest.newBuilder(catalog.uri(path)).GET();
+    }
+
+    /**
+     * Products seeded for the run, plus a counter for unique names of products created during it.
+     */
+    record Catalog(String baseUrl, String runId, List<UUID> ids, AtomicLong created) {
+        static final List<String> WORDS = List.of(
+                "Wireless", "Mouse", "Keyboard", "Monitor", "Laptop", "Stand", "Hub", "Cable", "Dock",
+                "Headphones", "Speaker", "Webcam", "Charger", "Adapter", "Mechanical", "Ergonomic", "Portable");
+
+        URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+
+        UUID randomId() {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        static String json(String name, int quantity, String price) {
+            return "{\"name\":\"" + name + "\",\"quantity\":" + quantity + ",\"price\":" + price + "}";
+        }
+    }
+}
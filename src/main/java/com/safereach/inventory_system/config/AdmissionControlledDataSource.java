@@ -0,0 +1,164 @@
+package com.safereach.inventory_system.config;
+
+import com.safereach.inventory_system.exception.ConnectionAdmissionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of callers holding a connection to the size of the underlying pool.
+ * <p>
+ * Callers wait on a fair semaphore, so they are served in arrival order rather than racing on the
+ * pool's own hand-off, and the queue length is bounded so that a burst of (virtual) threads is
+ * rejected quickly instead of every caller waiting out the pool timeout. A permit is held from
+ * {@link #getConnection()} until the returned connection is closed.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource implements MeterBinder {
+    private final int permits;
+    private final Semaphore semaphore;
+    private final long timeoutNanos;
+    private final int maxQueue;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile Timer waitTimer;
+    private volatile Counter rejectedCounter;
+
+    public AdmissionControlledDataSource(DataSource target, int permits, Duration timeout, int maxQueue) {
+        super(target);
+        this.permits = permits;
+        this.semaphore = new Semaphore(permits, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.maxQueue = maxQueue;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return admitted(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return admitted(() -> super.getConnection(username, password));
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public int getInUse() {
+        return permits - semaphore.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("inventory.db.admission.wait")
+                .description("Time spent waiting for admission to the connection pool")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejectedCounter = Counter.builder("inventory.db.admission.rejected")
+                .description("Connection requests rejected because the admission queue was full or timed out")
+                .register(registry);
+        Gauge.builder("inventory.db.admission.waiting", this, AdmissionControlledDataSource::getWaiting)
+                .description("Callers queued for a database connection")
+                .register(registry);
+        Gauge.builder("inventory.db.admission.in_use", this, AdmissionControlledDataSource::getInUse)
+                .description("Callers currently holding a database connection")
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        if (semaphore.tryAcquire()) {
+            record(0);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            reject();
+            throw new ConnectionAdmissionException(
+                    "Database admission queue is full (" + maxQueue + " waiting for " + permits + " connections)");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                reject();
+                throw new ConnectionAdmissionException(
+                        "No database connection became available within " + Duration.ofNanos(timeoutNanos));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionAdmissionException("Interrupted while waiting for a database connection");
+        } finally {
+            waiting.decrementAndGet();
+        }
+        record(System.nanoTime() - start);
+    }
+
+    private Connection admitted(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            semaphore.release();
+            throw ex;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        } finally {
+                            semaphore.release();
+                        }
+                    }
+                    if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    private void record(long nanos) {
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject() {
+        Counter counter = rejectedCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
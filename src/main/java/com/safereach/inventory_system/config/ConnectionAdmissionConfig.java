@@ -0,0 +1,57 @@
+package com.safereach.inventory_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts the Hikari pool behind an {@link AdmissionControlledDataSource} sized to its maximum pool size.
+ * Disable with {@code inventory.db.admission.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.db.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionAdmissionConfig {
+
+    @Bean
+    static BeanPostProcessor connectionAdmissionPostProcessor(Environment environment) {
+        Duration timeout = environment.getProperty("inventory.db.admission.timeout", Duration.class, Duration.ofSeconds(5));
+        int maxQueue = environment.getProperty("inventory.db.admission.max-queue", Integer.class, 10_000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    try {
+                        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                            int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                            return new AdmissionControlledDataSource(dataSource, poolSize, timeout, maxQueue);
+                        }
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException("Could not inspect data source " + beanName, ex);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(AdmissionControlledDataSource.class)) {
+                    dataSource.unwrap(AdmissionControlledDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Could not bind connection admission metrics", ex);
+            }
+        };
+    }
+}
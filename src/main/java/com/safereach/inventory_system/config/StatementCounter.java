@@ -0,0 +1,56 @@
+package com.safereach.inventory_system.config;
+
+/**
+ * Counts SQL statements executed by the current thread while a {@link Scope} is open.
+ * <p>
+ * Statements are counted by {@link StatementCountingDataSource}; a scope is opened per HTTP request by
+ * {@link StatementCountingFilter}, and tests can open their own around a block of code. Scopes nest: when
+ * an inner scope closes, its count is added to the enclosing one.
+ */
+public final class StatementCounter {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void increment() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private long count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.count += count;
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
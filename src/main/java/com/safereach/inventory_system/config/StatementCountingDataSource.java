@@ -0,0 +1,85 @@
+package com.safereach.inventory_system.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts every statement execution (one per {@code execute*} call, one per {@code executeBatch}) that
+ * goes through connections from the target data source, globally and for the current
+ * {@link StatementCounter} scope.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements MeterBinder {
+    private final LongAdder executed = new LongAdder();
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("inventory.db.statements", executed, LongAdder::sum)
+                .description("SQL statements executed, counting each batch once")
+                .baseUnit("statements")
+                .register(registry);
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof Statement statement && method.getName().matches("createStatement|prepareStatement|prepareCall")) {
+                return countingStatement(method.getReturnType(), statement);
+            }
+            return result;
+        });
+    }
+
+    private Object countingStatement(Class<?> type, Statement statement) {
+        return proxy(type, statement, (method, result) -> result);
+    }
+
+    private <T> T proxy(Class<T> type, Object target, ResultDecorator decorator) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                executed.increment();
+                StatementCounter.increment();
+            }
+            try {
+                return decorator.decorate(method, method.invoke(target, args));
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }));
+    }
+
+    @FunctionalInterface
+    private interface ResultDecorator {
+        Object decorate(Method method, Object result);
+    }
+}
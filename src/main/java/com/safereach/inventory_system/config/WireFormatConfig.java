@@ -0,0 +1,21 @@
+package com.safereach.inventory_system.config;
+
+import com.safereach.inventory_system.wire.ProductColumnsHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Appended after the default converters rather than registered as a bean, which would put it first:
+     * for a wildcard Accept header the first converter able to write a type wins, and that must stay JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProductColumnsHttpMessageConverter());
+    }
+}
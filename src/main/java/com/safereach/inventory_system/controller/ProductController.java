@@ -1,26 +1,52 @@
 package com.safereach.inventory_system.controller;
 
+import com.safereach.inventory_system.dto.ProductBatchResponse;
+import com.safereach.inventory_system.dto.ProductChangeResponse;
+import com.safereach.inventory_system.dto.ProductCursor;
+import com.safereach.inventory_system.dto.ProductCursorPageResponse;
+import com.safereach.inventory_system.dto.ProductFilter;
+import com.safereach.inventory_system.dto.ProductImportReport;
 import com.safereach.inventory_system.dto.ProductRequest;
 import com.safereach.inventory_system.dto.ProductResponse;
 import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.repository.ProductSortField;
+import com.safereach.inventory_system.service.ProductBatchService;
+import com.safereach.inventory_system.service.ProductChangeFeed;
+import com.safereach.inventory_system.service.ProductFileFormat;
+import com.safereach.inventory_system.service.InventoryVersion;
+import com.safereach.inventory_system.service.ProductImportService;
+import com.safereach.inventory_system.service.ProductExportService;
 import com.safereach.inventory_system.service.ProductService;
+import com.safereach.inventory_system.wire.ProductColumns;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +55,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final ProductBatchService productBatchService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final InventoryVersion inventoryVersion;
+    private final ProductChangeFeed productChangeFeed;
 
     @PostMapping
     @Operation(summary = "Create a new product", description = "Creates a new product in the inventory system")
@@ -40,48 +71,212 @@ public class ProductController {
     })
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest productRequest) {
         ProductResponse createdProduct = productService.createProduct(productRequest);
-//        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-//                .path("/{id}")
-//                .buildAndExpand(createdProduct.id())
-//                .toUri();
-        // Ideally, you would set the URI of the created resource here, but the 'getOne' endpoint was not specified in the task.
-//        return ResponseEntity.created(location)
-//                .body(ProductMapper.INSTANCE.toResponse(createdProduct));
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(createdProduct.id())
+                .toUri();
+        return ResponseEntity.created(location).body(createdProduct);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a product", description = "Retrieves a single product by its ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product found",
+                    content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable UUID id) {
+        ProductResponse product = productService.getProductById(id);
+        return ResponseEntity.ok(product);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create products in bulk", description = "Creates many products at once and reports " +
+            "per-item results; name conflicts do not abort the rest of the batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed",
+                    content = @Content(schema = @Schema(implementation = ProductBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductBatchResponse> createProducts(
+            @RequestBody @NotEmpty List<@Valid ProductRequest> productRequests) {
+        ProductBatchResponse batchResponse = productBatchService.createProducts(productRequests);
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    @PostMapping(value = "/import", consumes = {ProductFileFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import products from a file", description = "Streams a CSV or NDJSON upload, upserting " +
+            "products by name in chunked transactions. Use fromLine to resume an interrupted import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed",
+                    content = @Content(schema = @Schema(implementation = ProductImportReport.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid CSV header or parameter",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "1") @Min(1) long fromLine,
+            InputStream body) {
+        ProductImportReport report = productImportService.importProducts(
+                body, ProductFileFormat.fromMediaType(contentType), fromLine);
+        return ResponseEntity.ok(report);
     }
 
     @GetMapping
-    @Operation(summary = "Get all products", description = "Retrieves a paginated list of all products")
+    @Operation(summary = "Get all products", description = "Retrieves a paginated list of all products, " +
+            "optionally filtered by inclusive price and quantity ranges. Send Accept: " +
+            ProductColumns.MEDIA_TYPE_VALUE + " for the compact binary encoding")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = Page.class)))
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Inventory unchanged since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or sort parameter",
+                    content = @Content)
     })
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minQuantity,
+            @RequestParam(required = false) Integer maxQuantity,
+            WebRequest webRequest) {
+
+        String etag = inventoryVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         Sort.Direction direction = Sort.Direction.fromString(sortDirection);
-        Sort sort = Sort.by(direction, sortBy);
+        Sort sort = Sort.by(direction, ProductSortField.fromProperty(sortBy).property())
+                .and(Sort.by(direction, "id"));
         Pageable pageable = PageRequest.of(page, size, sort);
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, minQuantity, maxQuantity);
 
-        Page<ProductResponse> productPage = productService.getAllProducts(pageable);
+        Page<ProductResponse> productPage = productService.getAllProducts(filter, pageable);
+
+        return conditional(etag, productPage);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll through all products", description = "Retrieves products using keyset pagination. " +
+            "Pass the returned nextCursor (and the same filters) to fetch the following page; deep pages cost " +
+            "the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductCursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort parameter",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductCursorPageResponse> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minQuantity,
+            @RequestParam(required = false) Integer maxQuantity) {
+
+        ProductCursor position = cursor != null
+                ? ProductCursor.decode(cursor)
+                : ProductCursor.first(ProductSortField.fromProperty(sortBy), Sort.Direction.fromString(sortDirection));
+
+        ProductFilter filter = new ProductFilter(minPrice, maxPrice, minQuantity, maxQuantity);
+
+        ProductCursorPageResponse productPage = productService.scrollProducts(filter, position, size);
 
         return ResponseEntity.ok(productPage);
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export all products", description = "Streams the full catalog as NDJSON, CSV " +
+            "or binary COLUMNS in constant memory, using the same sort options as the list endpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog export stream"),
+            @ApiResponse(responseCode = "400", description = "Invalid format or sort parameter",
+                    content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "NDJSON") ProductFileFormat format,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection) {
+
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection);
+        Sort sort = Sort.by(direction, ProductSortField.fromProperty(sortBy).property())
+                .and(Sort.by(direction, "id"));
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("products." + format.fileExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> productExportService.export(format, sort, out));
+    }
+
     @GetMapping("/search")
-    @Operation(summary = "Search products by name", description = "Searches for products by name (case-insensitive partial match)")
+    @Operation(summary = "Search products by name", description = "Searches for products by name " +
+            "(case-insensitive partial match). Send Accept: " + ProductColumns.MEDIA_TYPE_VALUE +
+            " for the compact binary encoding")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products found",
                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Inventory unchanged since the given ETag",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid search parameter",
                     content = @Content)
     })
-    public ResponseEntity<List<ProductResponse>> searchProductByName(@RequestParam @NotBlank String name) {
+    public ResponseEntity<List<ProductResponse>> searchProductByName(@RequestParam @NotBlank String name,
+                                                                     WebRequest webRequest) {
+        String etag = inventoryVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<ProductResponse> products = productService.searchProductByName(name);
-        return ResponseEntity.ok(products);
+        return conditional(etag, products);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products by name prefix", description = "Returns up to limit products whose " +
+            "name starts with the prefix (case-insensitive), highest quantity first, for typeahead. An empty list " +
+            "means nothing matched")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching products, possibly none",
+                    content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Inventory unchanged since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid prefix or limit",
+                    content = @Content)
+    })
+    public ResponseEntity<List<ProductResponse>> suggestProducts(@RequestParam @NotBlank String prefix,
+                                                                 @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit,
+                                                                 WebRequest webRequest) {
+        String etag = inventoryVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<ProductResponse> products = productService.suggestProducts(prefix, limit);
+        return conditional(etag, products);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream product changes", description = "Server-Sent Events stream of committed " +
+            "creations, updates and deletions, one JSON change per event. Reconnect with Last-Event-ID to resume; " +
+            "a 'reset' event means changes were missed and the catalog should be reread, an 'overflow' event " +
+            "means the client fell too far behind and is being disconnected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ProductChangeResponse.class)))
+    })
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return productChangeFeed.subscribe(lastEventId);
     }
 
     @DeleteMapping("/{id}")
@@ -113,15 +308,53 @@ public class ProductController {
         return ResponseEntity.ok(updatedProduct);
     }
 
+    @PatchMapping("/{id}/quantity/adjust")
+    @Operation(summary = "Adjust product quantity", description = "Atomically adds a positive or negative delta " +
+            "to the quantity of a specific product without letting it drop below zero")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product quantity adjusted successfully",
+                    content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock for the requested delta, " +
+                    "or the quantity would exceed its maximum",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductResponse> adjustProductQuantity(
+            @PathVariable UUID id,
+            @RequestParam int delta) {
+        ProductResponse updatedProduct = productService.adjustProductQuantity(id, delta);
+        return ResponseEntity.ok(updatedProduct);
+    }
+
     @GetMapping("/summary")
     @Operation(summary = "Get inventory summary", description = "Retrieves inventory statistics including " +
             "total products, quantities, average price, and out-of-stock items")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Inventory summary retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ProductSummaryResponse.class)))
+                    content = @Content(schema = @Schema(implementation = ProductSummaryResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Inventory unchanged since the given ETag",
+                    content = @Content)
     })
-    public ResponseEntity<ProductSummaryResponse> getInventorySummary() {
+    public ResponseEntity<ProductSummaryResponse> getInventorySummary(WebRequest webRequest) {
+        String etag = inventoryVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ProductSummaryResponse productSummary = productService.getProductSummary();
-        return ResponseEntity.ok(productSummary);
+        return conditional(etag, productSummary);
+    }
+
+    /**
+     * Tags a read with the inventory version taken before it ran. {@code no-cache} lets clients store the
+     * response but makes them revalidate it with If-None-Match on every use. The tag does not depend on the
+     * negotiated format, so caches must key JSON and binary bodies apart by Accept.
+     */
+    private static <T> ResponseEntity<T> conditional(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 }
@@ -0,0 +1,76 @@
+package com.safereach.inventory_system.controller;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("products/{id}/reservations")
+@RequiredArgsConstructor
+public class ProductReservationController {
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    @Operation(summary = "Reserve stock", description = "Places a short-lived hold on units of a product. " +
+            "The hold must be confirmed or released before it expires, after which the units become available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Stock reserved",
+                    content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity value",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Not enough unreserved stock",
+                    content = @Content)
+    })
+    public ResponseEntity<ReservationResponse> reserve(
+            @PathVariable UUID id,
+            @RequestParam @Min(value = 1, message = "Quantity must be at least 1") int quantity) {
+        ReservationResponse reservation = stockReservationService.reserve(id, quantity);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{reservationId}")
+                .buildAndExpand(reservation.id())
+                .toUri();
+        return ResponseEntity.created(location).body(reservation);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @Operation(summary = "Confirm a reservation", description = "Deducts the held units from the product quantity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation confirmed",
+                    content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found, expired or already settled",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Stock was reduced below the held quantity meanwhile",
+                    content = @Content)
+    })
+    public ResponseEntity<ProductResponse> confirm(@PathVariable UUID id, @PathVariable UUID reservationId) {
+        ProductResponse product = stockReservationService.confirm(id, reservationId);
+        return ResponseEntity.ok(product);
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @Operation(summary = "Release a reservation", description = "Returns the held units to available stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reservation released"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found, expired or already settled",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> release(@PathVariable UUID id, @PathVariable UUID reservationId) {
+        stockReservationService.release(id, reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
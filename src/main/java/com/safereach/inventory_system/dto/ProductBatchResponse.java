@@ -0,0 +1,47 @@
+package com.safereach.inventory_system.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk product creation request")
+public record ProductBatchResponse(
+        @Schema(description = "Number of products created", example = "98")
+        int created,
+
+        @Schema(description = "Number of products rejected because the name already exists", example = "2")
+        int conflicts,
+
+        @Schema(description = "Per-item results in request order")
+        List<ItemResult> items
+) {
+
+    @Schema(description = "Result for a single item of the batch")
+    public record ItemResult(
+            @Schema(description = "Position of the item in the request", example = "0")
+            int index,
+
+            @Schema(description = "Outcome of the item", example = "CREATED")
+            Status status,
+
+            @Schema(description = "Created product, present when status is CREATED")
+            ProductResponse product,
+
+            @Schema(description = "Reason the item was not created", example = "Wireless Headphones")
+            String detail
+    ) {
+
+        public static ItemResult created(int index, ProductResponse product) {
+            return new ItemResult(index, Status.CREATED, product, null);
+        }
+
+        public static ItemResult conflict(int index, String detail) {
+            return new ItemResult(index, Status.CONFLICT, null, detail);
+        }
+    }
+
+    public enum Status {
+        CREATED,
+        CONFLICT
+    }
+}
@@ -0,0 +1,20 @@
+package com.safereach.inventory_system.dto;
+
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A committed product change, as delivered on the change feed")
+public record ProductChangeResponse(
+        @Schema(description = "Position of the change in the feed; also sent as the SSE event id", example = "1760700000000001")
+        long sequence,
+
+        @Schema(description = "Kind of change", example = "UPDATED")
+        ProductChangedEvent.ChangeType type,
+
+        @Schema(description = "Product before the change, absent for creations")
+        ProductResponse before,
+
+        @Schema(description = "Product after the change, absent for deletions")
+        ProductResponse after
+) {
+}
@@ -0,0 +1,52 @@
+package com.safereach.inventory_system.dto;
+
+import com.safereach.inventory_system.exception.InvalidCursorException;
+import com.safereach.inventory_system.repository.ProductSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a keyset-paginated product listing: the sort order plus the sort key and id of the last
+ * row returned. Clients only ever see it as an opaque URL-safe token.
+ */
+public record ProductCursor(ProductSortField sortField, Sort.Direction direction, Comparable<?> lastValue, UUID lastId) {
+
+    public static ProductCursor first(ProductSortField sortField, Sort.Direction direction) {
+        return new ProductCursor(sortField, direction, null, null);
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 4);
+            ProductSortField sortField = ProductSortField.valueOf(parts[0]);
+            return new ProductCursor(
+                    sortField,
+                    Sort.Direction.valueOf(parts[1]),
+                    sortField.parse(parts[3]),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public ProductCursor after(ProductResponse product) {
+        return new ProductCursor(sortField, direction, sortField.valueOf(product), product.id());
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, sortField.property()).and(Sort.by(direction, "id"));
+    }
+
+    public String encode() {
+        String raw = sortField.name() + ":" + direction.name() + ":" + lastId + ":" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
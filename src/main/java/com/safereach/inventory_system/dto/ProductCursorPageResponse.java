@@ -0,0 +1,16 @@
+package com.safereach.inventory_system.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of products from a keyset-paginated listing")
+public record ProductCursorPageResponse(
+        @Schema(description = "Products on this page")
+        List<ProductResponse> content,
+
+        @Schema(description = "Opaque cursor for the next page, absent on the last page",
+                example = "TkFNRTpBU0M6MTIzZTQ1NjctZTg5Yi0xMmQzLWE0NTYtNDI2NjE0MTc0MDAwOk1vbml0b3I")
+        String nextCursor
+) {
+}
@@ -0,0 +1,11 @@
+package com.safereach.inventory_system.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional inclusive range bounds for product listings; {@code null} bounds are not applied.
+ */
+public record ProductFilter(BigDecimal minPrice, BigDecimal maxPrice, Integer minQuantity, Integer maxQuantity) {
+
+    public static final ProductFilter NONE = new ProductFilter(null, null, null, null);
+}
@@ -0,0 +1,38 @@
+package com.safereach.inventory_system.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a streaming product import")
+public record ProductImportReport(
+        @Schema(description = "Number of lines read from the upload, including skipped ones", example = "100001")
+        long linesRead,
+
+        @Schema(description = "Number of products created", example = "1200")
+        long created,
+
+        @Schema(description = "Number of existing products updated by name", example = "98790")
+        long updated,
+
+        @Schema(description = "Number of lines that could not be imported", example = "10")
+        long failed,
+
+        @Schema(description = "Last line of the last committed chunk; resume with fromLine set to this value plus one",
+                example = "100001")
+        long lastCommittedLine,
+
+        @Schema(description = "Per-line errors, capped at inventory.import.max-reported-errors")
+        List<LineError> errors
+) {
+
+    @Schema(description = "Reason a single line was not imported")
+    public record LineError(
+            @Schema(description = "1-based line number in the upload", example = "42")
+            long line,
+
+            @Schema(description = "What went wrong", example = "quantity: Quantity must be at least 0")
+            String message
+    ) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.safereach.inventory_system.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "A hold on product stock that must be confirmed or released before it expires")
+public record ReservationResponse(
+        @Schema(description = "Unique identifier of the reservation", example = "0192a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b")
+        UUID id,
+
+        @Schema(description = "Product the stock is held for", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID productId,
+
+        @Schema(description = "Number of units held", example = "2", minimum = "1")
+        int quantity,
+
+        @Schema(description = "Instant after which the hold lapses and the units become available again")
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,51 @@
+package com.safereach.inventory_system.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit
+ * counter and 62 random bits. Consecutive ids share B-tree pages instead of landing on random ones.
+ * <p>
+ * Ids are strictly increasing within this JVM across all threads: the timestamp and counter are advanced
+ * together with a single CAS, a counter overflow borrows the next millisecond, and a clock that steps
+ * backwards is ignored until it catches up. Each new millisecond starts the counter at a random value
+ * in its lower half, so ids from different instances interleave rather than collide on the counter.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long timeAndCounter = LAST.updateAndGet(last -> {
+            long now = System.currentTimeMillis();
+            return (last >>> COUNTER_BITS) < now
+                    ? now << COUNTER_BITS | ThreadLocalRandom.current().nextInt(1 << (COUNTER_BITS - 1))
+                    : last + 1;
+        });
+        long mostSignificant = (timeAndCounter >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | timeAndCounter & ((1 << COUNTER_BITS) - 1);
+        long leastSignificant = ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Returns the Unix millisecond timestamp embedded in a version 7 UUID.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,47 @@
+package com.safereach.inventory_system.event;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+
+import java.util.UUID;
+
+/**
+ * Published by the service layer whenever a product is created, updated or deleted.
+ * <p>
+ * {@code before} is {@code null} for creations and {@code after} is {@code null} for deletions,
+ * so listeners can derive both the new state and the delta from a single event. {@code remote} events were
+ * committed by another instance and relayed by the {@code ProductChangeBus}; they are published outside any
+ * transaction, so transactional listeners receive them immediately.
+ */
+public record ProductChangedEvent(ChangeType type, ProductResponse before, ProductResponse after, boolean remote) {
+
+    public ProductChangedEvent(ChangeType type, ProductResponse before, ProductResponse after) {
+        this(type, before, after, false);
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(ChangeType.CREATED, null, snapshot(product));
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(ChangeType.DELETED, snapshot(product), null);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse before, Product product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, before, snapshot(product));
+    }
+
+    public static ProductResponse snapshot(Product product) {
+        return new ProductResponse(product.getId(), product.getName(), product.getQuantity(), product.getPrice());
+    }
+
+    public UUID productId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
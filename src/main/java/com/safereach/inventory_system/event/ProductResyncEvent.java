@@ -0,0 +1,8 @@
+package com.safereach.inventory_system.event;
+
+/**
+ * Published when product changes may have been missed, such as after the {@code ProductChangeBus} lost its
+ * connection. Components that derive state from {@link ProductChangedEvent}s rebuild it from the database.
+ */
+public record ProductResyncEvent(String reason) {
+}
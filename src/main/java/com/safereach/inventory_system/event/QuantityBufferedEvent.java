@@ -0,0 +1,10 @@
+package com.safereach.inventory_system.event;
+
+import java.util.UUID;
+
+/**
+ * Published when the write-behind buffer accepts a quantity delta. The change is visible to readers at once
+ * but is only committed, and announced with a {@link ProductChangedEvent}, at the next flush.
+ */
+public record QuantityBufferedEvent(UUID productId, int delta) {
+}
@@ -0,0 +1,11 @@
+package com.safereach.inventory_system.event;
+
+import java.util.UUID;
+
+/**
+ * Published when buffered quantity deltas that callers were already told succeeded could not be written,
+ * because the database quantity would have gone negative. The product's visible quantity drops back by
+ * {@code delta}; listeners can alert on or compensate for the lost adjustments.
+ */
+public record QuantityDeltaRejectedEvent(UUID productId, int delta) {
+}
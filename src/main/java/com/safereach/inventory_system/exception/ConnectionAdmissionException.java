@@ -0,0 +1,13 @@
+package com.safereach.inventory_system.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Raised when a caller cannot be admitted to the connection pool, either because too many callers
+ * are already queued or because no connection became available within the admission timeout.
+ */
+public class ConnectionAdmissionException extends SQLTransientConnectionException {
+    public ConnectionAdmissionException(String message) {
+        super(message);
+    }
+}
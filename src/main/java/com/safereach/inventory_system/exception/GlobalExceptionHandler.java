@@ -1,7 +1,12 @@
 package com.safereach.inventory_system.exception;
 
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -19,12 +24,59 @@ public class GlobalExceptionHandler {
         return pd;
     }
 
-    @ExceptionHandler(ProductNotFoundException.class)
-    public ProblemDetail handleNotFound(ProductNotFoundException ex) {
+    @ExceptionHandler({ProductNotFoundException.class, ReservationNotFoundException.class})
+    public ProblemDetail handleNotFound(RuntimeException ex) {
         ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
         pd.setTitle("Resource not found");
         pd.setType(URI.create("https://exmple.com/problems/not-found"));
         pd.setDetail(ex.getMessage());
         return pd;
     }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ProblemDetail handleInsufficientStock(InsufficientStockException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        pd.setTitle("Insufficient stock");
+        pd.setType(URI.create("https://exmple.com/problems/insufficient-stock"));
+        pd.setDetail(ex.getMessage());
+        return pd;
+    }
+
+    @ExceptionHandler(QuantityOutOfRangeException.class)
+    public ProblemDetail handleQuantityOutOfRange(QuantityOutOfRangeException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        pd.setTitle("Quantity out of range");
+        pd.setType(URI.create("https://exmple.com/problems/quantity-out-of-range"));
+        pd.setDetail(ex.getMessage());
+        return pd;
+    }
+
+    @ExceptionHandler({InvalidCursorException.class, InvalidSortException.class})
+    public ProblemDetail handleInvalidListingParameter(RuntimeException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        pd.setTitle("Invalid listing parameter");
+        pd.setType(URI.create("https://exmple.com/problems/invalid-listing-parameter"));
+        pd.setDetail(ex.getMessage());
+        return pd;
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ProblemDetail handleInvalidImportFile(InvalidImportFileException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        pd.setTitle("Invalid import file");
+        pd.setType(URI.create("https://exmple.com/problems/invalid-import-file"));
+        pd.setDetail(ex.getMessage());
+        return pd;
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, TransientDataAccessResourceException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseUnavailable(NestedRuntimeException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setTitle("Database busy");
+        pd.setType(URI.create("https://exmple.com/problems/database-busy"));
+        pd.setDetail(ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(pd);
+    }
 }
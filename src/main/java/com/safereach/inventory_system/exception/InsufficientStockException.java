@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
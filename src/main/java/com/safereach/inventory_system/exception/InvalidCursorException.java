@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
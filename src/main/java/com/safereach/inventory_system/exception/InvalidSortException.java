@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
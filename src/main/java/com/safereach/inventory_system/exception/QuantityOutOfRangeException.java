@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class QuantityOutOfRangeException extends RuntimeException {
+    public QuantityOutOfRangeException(String message) {
+        super(message);
+    }
+}
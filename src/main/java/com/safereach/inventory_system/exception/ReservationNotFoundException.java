@@ -0,0 +1,7 @@
+package com.safereach.inventory_system.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
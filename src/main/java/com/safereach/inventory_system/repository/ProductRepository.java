@@ -1,31 +1,59 @@
 package com.safereach.inventory_system.repository;
 
+import com.safereach.inventory_system.dto.ProductResponse;
 import com.safereach.inventory_system.dto.ProductSummaryResponse;
 import com.safereach.inventory_system.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
     /* * Finds products by name containing the specified string, ignoring case.
      *
      * Found here: https://stackoverflow.com/questions/37524599/jpa-findby-field-ignore-case
      *
+     * Selected straight into ProductResponse, so no managed entities are created.
+     *
      * @param name the name to search for
      * @return a list of products that match the search criteria
      */
-    List<Product> findByNameContainingIgnoreCase(String name);
+    @Transactional(readOnly = true)
+    List<ProductResponse> findResponsesByNameContainingIgnoreCase(String name);
+
+    @Transactional(readOnly = true)
+    List<ProductResponse> findResponsesByNameStartingWithIgnoreCaseOrderByQuantityDescNameAscIdAsc(String prefix, Limit limit);
+
+    @Transactional(readOnly = true)
+    Optional<ProductResponse> findResponseById(UUID id);
 
     boolean existsByName(String name);
 
+    List<Product> findByNameIn(Collection<String> names);
+
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    Set<String> findExistingNames(Collection<String> names);
+
     @Query("""
              SELECT
               COUNT(p) AS totalProducts,
-              SUM(p.quantity) AS totalQuantity,
+              COALESCE(SUM(p.quantity), 0) AS totalQuantity,
+              COALESCE(SUM(p.price), 0) AS totalPrice,
               AVG(p.price) AS averagePrice
              FROM Product p
             """)
@@ -33,11 +61,45 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     List<ProductSummaryResponse.OutOfStockProduct> findByQuantity(Integer quantity);
 
+    /**
+     * Streams every product as a {@link ProductResponse} through a forward-only cursor, without loading
+     * entities into the persistence context. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.safereach.inventory_system.dto.ProductResponse(p.id, p.name, p.quantity, p.price) FROM Product p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ProductResponse> streamAll(Sort sort);
+
+    /**
+     * Atomically adds {@code delta} to the quantity in a single round trip, refusing to go below zero or
+     * past the largest {@code int}. The bound is checked in {@code bigint} so the sum cannot overflow first.
+     *
+     * @return the updated product, or empty if it does not exist or the result would be out of range
+     */
+    @Query(value = """
+            UPDATE products SET quantity = quantity + :delta
+            WHERE id = :id AND quantity::bigint + :delta BETWEEN 0 AND 2147483647
+            RETURNING id, name, quantity, price
+            """, nativeQuery = true)
+    @Transactional
+    Optional<ProductProjection> adjustQuantity(UUID id, int delta);
+
+    interface ProductProjection {
+        UUID getId();
+
+        String getName();
+
+        Integer getQuantity();
+
+        BigDecimal getPrice();
+    }
+
     interface ProductSummaryProjection {
         long getTotalProducts();
 
         long getTotalQuantity();
 
+        BigDecimal getTotalPrice();
+
         BigDecimal getAveragePrice();
     }
 }
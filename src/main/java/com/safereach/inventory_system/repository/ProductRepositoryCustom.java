@@ -0,0 +1,49 @@
+package com.safereach.inventory_system.repository;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Adds each delta to its product's quantity in one statement. Rows that would drop below zero or exceed
+     * {@link Integer#MAX_VALUE} are left untouched.
+     *
+     * @param deltas quantity delta per product id
+     * @return the updated products; ids missing from the result were not applied
+     */
+    List<ProductResponse> applyQuantityDeltas(Map<UUID, Integer> deltas);
+
+    /**
+     * Sets each product's quantity to the given absolute value in one statement. Rows already holding it are not rewritten.
+     *
+     * @param quantities quantity per product id
+     * @return the number of rows changed
+     */
+    int writeQuantities(Map<UUID, Integer> quantities);
+
+    /**
+     * Passes the id and quantity of every product to {@code consumer}, without materializing anything else.
+     */
+    void forEachQuantity(ObjIntConsumer<UUID> consumer);
+
+    /**
+     * Page of products matching {@code spec}, selected with a constructor expression so no entities are
+     * loaded into the persistence context. The count query is skipped when the page size makes it redundant.
+     */
+    Page<ProductResponse> findResponses(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Up to {@code limit} products matching {@code spec} in {@code sort} order, as {@link ProductResponse}s.
+     */
+    List<ProductResponse> findResponses(Specification<Product> spec, Sort sort, int limit);
+}
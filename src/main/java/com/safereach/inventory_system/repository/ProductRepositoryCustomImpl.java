@@ -0,0 +1,151 @@
+package com.safereach.inventory_system.repository;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+@RequiredArgsConstructor
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    private static final String APPLY_QUANTITY_DELTAS = """
+            UPDATE products p SET quantity = p.quantity + d.delta
+            FROM unnest(?::uuid[], ?::int[]) AS d(id, delta)
+            WHERE p.id = d.id AND p.quantity::bigint + d.delta BETWEEN 0 AND 2147483647
+            RETURNING p.id, p.name, p.quantity, p.price
+            """;
+    private static final String WRITE_QUANTITIES = """
+            UPDATE products p SET quantity = q.quantity
+            FROM unnest(?::uuid[], ?::int[]) AS q(id, quantity)
+            WHERE p.id = q.id AND p.quantity <> q.quantity
+            """;
+    private static final String SELECT_QUANTITIES = "SELECT id, quantity FROM products";
+    private static final int QUANTITY_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ProductResponse> applyQuantityDeltas(Map<UUID, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = new UUID[deltas.size()];
+        Integer[] values = new Integer[deltas.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> delta : deltas.entrySet()) {
+            ids[i] = delta.getKey();
+            values[i++] = delta.getValue();
+        }
+        return jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(APPLY_QUANTITY_DELTAS);
+                    statement.setArray(1, connection.createArrayOf("uuid", ids));
+                    statement.setArray(2, connection.createArrayOf("integer", values));
+                    return statement;
+                },
+                (rs, rowNum) -> new ProductResponse(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("name"),
+                        rs.getInt("quantity"),
+                        rs.getBigDecimal("price")));
+    }
+
+    @Override
+    public int writeQuantities(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        UUID[] ids = new UUID[quantities.size()];
+        Integer[] values = new Integer[quantities.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> quantity : quantities.entrySet()) {
+            ids[i] = quantity.getKey();
+            values[i++] = quantity.getValue();
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(WRITE_QUANTITIES);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("integer", values));
+            return statement;
+        });
+    }
+
+    /**
+     * Runs in a read-only transaction with a fetch size, so the driver reads the rows through a cursor instead
+     * of buffering the whole result set.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachQuantity(ObjIntConsumer<UUID> consumer) {
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_QUANTITIES);
+                    statement.setFetchSize(QUANTITY_FETCH_SIZE);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class), rs.getInt(2)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> findResponses(Specification<Product> spec, Pageable pageable) {
+        TypedQuery<ProductResponse> query = selectResponses(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> findResponses(Specification<Product> spec, Sort sort, int limit) {
+        return selectResponses(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<ProductResponse> selectResponses(Specification<Product> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductResponse.class,
+                root.get("id"), root.get("name"), root.get("quantity"), root.get("price")));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,47 @@
+package com.safereach.inventory_system.repository;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.exception.InvalidSortException;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Product attributes that listing endpoints may sort by. Each one is backed by an index that
+ * ends with the id, so sorting and keyset seeks never need a full scan.
+ */
+public enum ProductSortField {
+    NAME("name", ProductResponse::name, value -> value),
+    PRICE("price", ProductResponse::price, BigDecimal::new),
+    QUANTITY("quantity", ProductResponse::quantity, Integer::valueOf);
+
+    private final String property;
+    private final Function<ProductResponse, Comparable<?>> accessor;
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSortField(String property, Function<ProductResponse, Comparable<?>> accessor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+
+    public static ProductSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSortException("Unsupported sort property: " + property));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Comparable<?> valueOf(ProductResponse product) {
+        return accessor.apply(product);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
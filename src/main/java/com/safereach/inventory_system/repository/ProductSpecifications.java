@@ -0,0 +1,63 @@
+package com.safereach.inventory_system.repository;
+
+import com.safereach.inventory_system.dto.ProductFilter;
+import com.safereach.inventory_system.entity.Product;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        return Specification.allOf(
+                between("price", filter.minPrice(), filter.maxPrice()),
+                between("quantity", filter.minQuantity(), filter.maxQuantity()));
+    }
+
+    /**
+     * Inclusive range predicate on an indexed attribute. Either bound may be {@code null}; when both are,
+     * the specification does not restrict the query.
+     */
+    public static <T extends Comparable<? super T>> Specification<Product> between(String attribute, T min, T max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get(attribute), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            }
+            if (max != null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), max);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Keyset (seek) predicate selecting rows strictly after {@code (value, id)} in the given sort order.
+     * <p>
+     * The redundant {@code field >= value} bound gives the planner an index condition on
+     * {@code (field, id)}, so the seek costs the same no matter how deep into the listing it starts.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> after(ProductSortField field, Sort.Direction direction,
+                                               Comparable value, UUID id) {
+        return (root, query, cb) -> {
+            Expression<Comparable> key = root.get(field.property());
+            Expression<UUID> keyId = root.get("id");
+            if (direction.isAscending()) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(key, value),
+                        cb.or(cb.greaterThan(key, value), cb.greaterThan(keyId, id)));
+            }
+            return cb.and(
+                    cb.lessThanOrEqualTo(key, value),
+                    cb.or(cb.lessThan(key, value), cb.lessThan(keyId, id)));
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.safereach.inventory_system.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: a ring of slots, one per tick, each holding the items whose deadline falls on a tick
+ * that maps to it. Scheduling and cancelling are a set insert and removal, so the cost per hold is constant
+ * however many are outstanding, and settled holds do not linger until their deadline. Deadlines further
+ * away than one rotation wait in their slot for the later lap.
+ * <p>
+ * {@link #advance(long)} must be called from a single thread. Items expire at most one tick late, and each
+ * item is either cancelled or expired, never both.
+ */
+final class ExpiryTimerWheel<T> {
+    private final Set<Timeout<T>>[] slots;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Consumer<T> onExpiry;
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryTimerWheel(int size, long tickNanos, long startNanos, Consumer<T> onExpiry) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + size);
+        }
+        this.slots = new Set[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.mask = size - 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.onExpiry = onExpiry;
+    }
+
+    /**
+     * Schedules {@code item} to expire once {@link #advance(long)} passes {@code deadlineNanos}. A deadline
+     * inside the tick being processed is moved to the next one.
+     */
+    Timeout<T> schedule(T item, long deadlineNanos) {
+        long tick = Math.max(Math.ceilDiv(deadlineNanos - startNanos, tickNanos), processedTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, tick, slots[(int) (tick & mask)]);
+        timeout.slot.add(timeout);
+        // the ticker may have started on this slot before the add landed; expire here rather than a lap late
+        if (tick <= processedTick && timeout.slot.remove(timeout)) {
+            onExpiry.accept(item);
+        }
+        return timeout;
+    }
+
+    /**
+     * Processes every tick up to {@code nowNanos}, handing due items to the expiry callback.
+     */
+    void advance(long nowNanos) {
+        long target = (nowNanos - startNanos) / tickNanos;
+        for (long tick = processedTick + 1; tick <= target; tick++) {
+            processedTick = tick;
+            Set<Timeout<T>> slot = slots[(int) (tick & mask)];
+            for (Timeout<T> timeout : slot) {
+                if (timeout.tick <= tick && slot.remove(timeout)) {
+                    onExpiry.accept(timeout.item);
+                }
+            }
+        }
+    }
+
+    int pending() {
+        int pending = 0;
+        for (Set<Timeout<T>> slot : slots) {
+            pending += slot.size();
+        }
+        return pending;
+    }
+
+    static final class Timeout<T> {
+        private final T item;
+        private final long tick;
+        private final Set<Timeout<T>> slot;
+
+        private Timeout(T item, long tick, Set<Timeout<T>> slot) {
+            this.item = item;
+            this.tick = tick;
+            this.slot = slot;
+        }
+
+        /**
+         * Removes the item from the wheel; returns {@code false} if it has already expired.
+         */
+        boolean cancel() {
+            return slot.remove(this);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the inventory summary up to date from {@link ProductChangedEvent}s, so that reading it
+ * costs O(1) plus the size of the out-of-stock list instead of two full table scans.
+ * <p>
+ * The running totals are seeded and periodically corrected by {@link #reconcile()}. A reconciliation
+ * result is only installed when no product change was committing when it started or when it finished, and no
+ * change started committing or was applied in between; otherwise its snapshot may already contain a change
+ * whose delta is still to be applied, so it is discarded and the next pass tries again. Changes published
+ * outside a transaction have no before-commit signal and are only caught by the last condition.
+ */
+@Slf4j
+@Component
+public class InventorySummaryEngine {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Map<UUID, ProductSummaryResponse.OutOfStockProduct> outOfStock = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicInteger committing = new AtomicInteger();
+    private volatile Totals totals;
+
+    public InventorySummaryEngine(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Whether the totals have been seeded, so {@link #getSummary()} is answered without querying the database.
+     */
+    public boolean isReady() {
+        return totals != null;
+    }
+
+    public ProductSummaryResponse getSummary() {
+        Totals current = totals;
+        if (current == null) {
+            return reconcile();
+        }
+        return current.toResponse(List.copyOf(outOfStock.values()));
+    }
+
+    /**
+     * Recomputes the summary from the database and installs it if no writes raced with the computation.
+     *
+     * @return the freshly computed summary, whether or not it was installed
+     */
+    @Scheduled(fixedDelayString = "${inventory.summary.reconcile-interval:PT5M}")
+    public ProductSummaryResponse reconcile() {
+        long startEpoch = epoch.get();
+        boolean quietAtStart = committing.get() == 0;
+        Snapshot snapshot = snapshotTransaction.execute(status -> new Snapshot(
+                productRepository.getProductSummary(),
+                productRepository.findByQuantity(0)
+        ));
+        Totals fresh = new Totals(
+                snapshot.summary().getTotalProducts(),
+                snapshot.summary().getTotalQuantity(),
+                snapshot.summary().getTotalPrice()
+        );
+
+        synchronized (this) {
+            if (quietAtStart && committing.get() == 0 && epoch.get() == startEpoch) {
+                Totals previous = totals;
+                if (previous != null && !previous.matches(fresh)) {
+                    log.warn("Inventory summary drift corrected: {} -> {}", previous, fresh);
+                }
+                outOfStock.clear();
+                snapshot.outOfStock().forEach(product -> outOfStock.put(product.id(), product));
+                totals = fresh;
+            } else {
+                log.debug("Inventory summary reconciliation raced with concurrent writes, skipping install");
+            }
+        }
+        return fresh.toResponse(snapshot.outOfStock());
+    }
+
+    @EventListener
+    @Order(0)
+    public void onResync(ProductResyncEvent event) {
+        reconcile();
+    }
+
+    /**
+     * Registers, once per publishing transaction, a synchronization that counts the transaction as committing
+     * from its before-commit phase until it completes. A transaction that rolls back before committing was
+     * never counted, so it is never uncounted either.
+     */
+    @EventListener
+    public void onProductChanging(ProductChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        CommitWindow window = new CommitWindow();
+        TransactionSynchronizationManager.bindResource(this, window);
+        TransactionSynchronizationManager.registerSynchronization(window);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0) // totals must be current before InventoryVersion advances
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        epoch.incrementAndGet();
+        Totals current = totals;
+        if (current == null) {
+            return;
+        }
+        ProductResponse before = event.before();
+        ProductResponse after = event.after();
+        if (before != null) {
+            current = current.minus(before);
+            outOfStock.remove(before.id());
+        }
+        if (after != null) {
+            current = current.plus(after);
+            if (after.quantity() == 0) {
+                outOfStock.put(after.id(), new ProductSummaryResponse.OutOfStockProduct(after.id(), after.name()));
+            }
+        }
+        totals = current;
+    }
+
+    private record Snapshot(ProductRepository.ProductSummaryProjection summary,
+                            List<ProductSummaryResponse.OutOfStockProduct> outOfStock) {
+    }
+
+    private record Totals(long totalProducts, long totalQuantity, BigDecimal totalPrice) {
+
+        Totals plus(ProductResponse product) {
+            return new Totals(totalProducts + 1, totalQuantity + product.quantity(), totalPrice.add(product.price()));
+        }
+
+        Totals minus(ProductResponse product) {
+            return new Totals(totalProducts - 1, totalQuantity - product.quantity(), totalPrice.subtract(product.price()));
+        }
+
+        boolean matches(Totals other) {
+            return totalProducts == other.totalProducts
+                    && totalQuantity == other.totalQuantity
+                    && totalPrice.compareTo(other.totalPrice) == 0;
+        }
+
+        ProductSummaryResponse toResponse(List<ProductSummaryResponse.OutOfStockProduct> outOfStockProducts) {
+            // Matches the JPQL AVG() result, which Hibernate returns as a double.
+            BigDecimal averagePrice = totalProducts == 0
+                    ? null
+                    : BigDecimal.valueOf(totalPrice.doubleValue() / totalProducts);
+            return new ProductSummaryResponse(totalProducts, totalQuantity, averagePrice, outOfStockProducts);
+        }
+    }
+
+    /**
+     * Spans one transaction's commit. Its after-completion callback runs after {@link #onProductChanged} has
+     * applied the transaction's changes, so the count drops only once they are in the totals.
+     */
+    private final class CommitWindow implements TransactionSynchronization {
+        private boolean committing;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            committing = true;
+            InventorySummaryEngine.this.committing.incrementAndGet();
+            epoch.incrementAndGet();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventorySummaryEngine.this);
+            if (committing) {
+                InventorySummaryEngine.this.committing.decrementAndGet();
+            }
+        }
+    }
+}
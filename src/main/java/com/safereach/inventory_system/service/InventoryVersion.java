@@ -0,0 +1,67 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the whole inventory, advanced after every committed product change and used as the
+ * ETag of the read endpoints.
+ * <p>
+ * Readers must take the version <em>before</em> reading: a change committing in between then yields new data
+ * under the old tag, which only costs one extra full response. The listener runs after the in-memory views
+ * (cache, name index, summary) have applied the change, so a new version is never served with stale data.
+ * The ETag includes an id chosen at startup, so tags issued before a restart are never matched.
+ */
+@Component
+public class InventoryVersion {
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Returns the current version as a strong entity tag value.
+     */
+    public String etag() {
+        return "\"" + bootId + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Advances the version for a change that is visible to readers without a committed event, such as a
+     * quantity delta held in the write-behind buffer.
+     */
+    public void advance() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onResync(ProductResyncEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Buffered deltas that were visible to readers have been withdrawn.
+     */
+    @EventListener
+    public void onQuantityDeltaRejected(QuantityDeltaRejectedEvent event) {
+        version.incrementAndGet();
+    }
+}
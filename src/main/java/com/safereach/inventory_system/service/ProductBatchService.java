@@ -0,0 +1,119 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductBatchResponse;
+import com.safereach.inventory_system.dto.ProductBatchResponse.ItemResult;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.ProductAlreadyExistsException;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates products in bulk. Each chunk of {@code inventory.batch.chunk-size} items is checked for name
+ * conflicts with one {@code IN} query and inserted with JDBC batching in its own transaction, so a
+ * failing chunk never rolls back the ones before it.
+ */
+@Slf4j
+@Service
+@Timed("inventory.service")
+public class ProductBatchService {
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductService productService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public ProductBatchService(ProductRepository productRepository,
+                               ProductMapper productMapper,
+                               ProductService productService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${inventory.batch.chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productService = productService;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ProductBatchResponse createProducts(List<ProductRequest> requests) {
+        ItemResult[] results = new ItemResult[requests.size()];
+        Set<String> seenNames = new HashSet<>();
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            List<Integer> pending = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                if (seenNames.add(requests.get(i).name())) {
+                    pending.add(i);
+                } else {
+                    results[i] = ItemResult.conflict(i, "Duplicate name in batch: " + requests.get(i).name());
+                }
+            }
+            try {
+                chunkTransaction.executeWithoutResult(status -> insertChunk(requests, pending, results));
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Batch chunk [{}, {}) raced with a concurrent insert, retrying item by item", from, to);
+                insertOneByOne(requests, pending, results);
+            }
+        }
+
+        List<ItemResult> items = Arrays.asList(results);
+        int created = (int) items.stream().filter(item -> item.status() == ProductBatchResponse.Status.CREATED).count();
+        return new ProductBatchResponse(created, items.size() - created, items);
+    }
+
+    private void insertChunk(List<ProductRequest> requests, List<Integer> pending, ItemResult[] results) {
+        Set<String> existing = productRepository.findExistingNames(
+                pending.stream().map(i -> requests.get(i).name()).toList());
+
+        List<Integer> inserted = new ArrayList<>(pending.size());
+        List<Product> entities = new ArrayList<>(pending.size());
+        for (int i : pending) {
+            ProductRequest request = requests.get(i);
+            if (existing.contains(request.name())) {
+                results[i] = ItemResult.conflict(i, request.name());
+            } else {
+                inserted.add(i);
+                entities.add(productMapper.toEntity(request));
+            }
+        }
+
+        List<Product> saved = productRepository.saveAll(entities);
+        productRepository.flush();
+        for (int k = 0; k < saved.size(); k++) {
+            Product product = saved.get(k);
+            int i = inserted.get(k);
+            eventPublisher.publishEvent(ProductChangedEvent.created(product));
+            results[i] = ItemResult.created(i, productMapper.toResponse(product));
+        }
+    }
+
+    private void insertOneByOne(List<ProductRequest> requests, List<Integer> pending, ItemResult[] results) {
+        for (int i : pending) {
+            ProductRequest request = requests.get(i);
+            try {
+                results[i] = ItemResult.created(i, productService.createProduct(request));
+            } catch (ProductAlreadyExistsException | DataIntegrityViolationException ex) {
+                results[i] = ItemResult.conflict(i, request.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.safereach.inventory_system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products by id. Entries expire after {@code inventory.cache.products.ttl}
+ * and are invalidated as soon as a change to the product commits. Hit, miss and eviction counts are
+ * published as the {@code cache.*} metrics with {@code cache=products}.
+ * <p>
+ * When the {@link QuantityEngine} is enabled, readers take quantities from the engine rather than from cached
+ * entries, so changes that only touch the quantity leave the entry in place.
+ */
+@Component
+public class ProductCache {
+    private final Cache<UUID, ProductResponse> cache;
+    private final boolean quantityOverlaid;
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${inventory.cache.products.maximum-size:100000}") long maximumSize,
+                        @Value("${inventory.cache.products.ttl:PT5M}") Duration ttl,
+                        @Value("${inventory.quantity-engine.enabled:false}") boolean quantityOverlaid) {
+        this.quantityOverlaid = quantityOverlaid;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    /**
+     * Returns the cached product, loading it on a miss. Products that do not exist are not cached.
+     */
+    public Optional<ProductResponse> get(UUID id, Function<UUID, Optional<ProductResponse>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    @Order(0)
+    public void onResync(ProductResyncEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.CREATED
+                || quantityOverlaid && event.type() == ProductChangedEvent.ChangeType.UPDATED && onlyQuantityChanged(event)) {
+            return;
+        }
+        cache.invalidate(event.productId());
+    }
+
+    private static boolean onlyQuantityChanged(ProductChangedEvent event) {
+        return event.before().name().equals(event.after().name())
+                && event.before().price().compareTo(event.after().price()) == 0;
+    }
+}
@@ -0,0 +1,345 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propagates committed product changes between instances sharing the database
+ * ({@code inventory.change-bus.enabled}), so each instance's cache, name index, summary, ETag version, change
+ * feed, write-behind base quantities and reservation counters also follow writes made through the others.
+ * Deltas still held in another instance's {@link QuantityWriteBehindBuffer} are not committed and are seen
+ * once that instance flushes them.
+ * <p>
+ * The local {@link ProductChangedEvent}s of a transaction are collected and sent with {@code pg_notify} just
+ * before it commits, as one notification or, past the 8000-byte payload limit, a few. Postgres delivers them
+ * only if the transaction commits, in commit order, so no instance hears of a change that was rolled back.
+ * A change published outside a transaction has already been committed, so it is sent straight away; if that
+ * fails the next notification tells the other instances to resync. A listener thread holds a dedicated
+ * connection (outside the pool) on which it {@code LISTEN}s, and republishes changes from other instances as
+ * {@link ProductChangedEvent#remote() remote} events. Notifications sent while that connection is down are
+ * lost, so after every reconnect a {@link ProductResyncEvent} makes the local views rebuild from the database.
+ * <p>
+ * Notifications carry each product's state before and after the change, so receivers apply it without a
+ * query. A change whose state does not fit in a notification is sent without it and triggers a resync.
+ * The {@link QuantityEngine} keeps quantities in one instance's memory and cannot be combined with the bus.
+ */
+@Slf4j
+@Component
+public class ProductChangeBus {
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConnectionDetails connectionDetails;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration pollInterval;
+    private final Duration reconnectDelay;
+    private final UUID instanceId = UUID.randomUUID();
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+    private final Counter failedCounter;
+    // local changes committed without a notification, which the next notification asks receivers to resync for
+    private final AtomicLong unannounced = new AtomicLong();
+    private volatile boolean running;
+    private Thread listener;
+
+    public ProductChangeBus(JdbcTemplate jdbcTemplate,
+                            JdbcConnectionDetails connectionDetails,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${inventory.change-bus.enabled:false}") boolean enabled,
+                            @Value("${inventory.change-bus.channel:product_changes}") String channel,
+                            @Value("${inventory.change-bus.poll-interval:PT1S}") Duration pollInterval,
+                            @Value("${inventory.change-bus.reconnect-delay:PT5S}") Duration reconnectDelay,
+                            @Value("${inventory.quantity-engine.enabled:false}") boolean quantityEngineEnabled) {
+        if (enabled && quantityEngineEnabled) {
+            throw new IllegalStateException(
+                    "inventory.change-bus.enabled and inventory.quantity-engine.enabled cannot both be set");
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Change bus channel must be a lower-case identifier: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionDetails = connectionDetails;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollInterval = pollInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.sentCounter = notifications(meterRegistry, "sent");
+        this.receivedCounter = notifications(meterRegistry, "received");
+        this.resyncCounter = Counter.builder("inventory.change_bus.resyncs")
+                .description("Local views rebuilt because changes from other instances may have been missed")
+                .register(meterRegistry);
+        this.failedCounter = notifications(meterRegistry, "failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("product-change-bus").daemon().start(this::listen);
+    }
+
+    /**
+     * Adds the change to its transaction's batch, which is sent before the transaction commits. A change made
+     * outside a transaction is already committed: it is sent at once, and a failure is logged rather than
+     * reported to the caller whose change stands.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+        Change change = new Change(event.type(), event.productId(), event.before(), event.after());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                long missed = unannounced.get();
+                send(List.of(change), missed);
+                unannounced.addAndGet(-missed);
+            } catch (RuntimeException ex) {
+                unannounced.incrementAndGet();
+                failedCounter.increment();
+                log.error("Could not notify other instances of the change to product {}; they will resync on the next notification",
+                        event.productId(), ex);
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> batch = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new Batch(batch));
+        }
+        batch.add(change);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = listener;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(pollInterval.toMillis() + 5_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies one notification received on the channel. Notifications this instance sent are skipped, since
+     * their changes were applied locally when they committed.
+     */
+    void receive(String payload) {
+        Notification notification;
+        try {
+            notification = objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable product change notification: {}", payload, ex);
+            resync("an unreadable notification was received");
+            return;
+        }
+        if (instanceId.equals(notification.origin())) {
+            return;
+        }
+        receivedCounter.increment();
+        if (notification.resync()) {
+            resync("instance " + notification.origin() + " could not announce some of its changes");
+            return;
+        }
+        for (Change change : notification.changes()) {
+            if (change.before() == null && change.after() == null) {
+                // the database already holds every change in this notification, so the rebuild covers the rest
+                resync("the notification for product " + change.id() + " did not carry its state");
+                return;
+            }
+        }
+        for (Change change : notification.changes()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(change.type(), change.before(), change.after(), true));
+        }
+    }
+
+    /**
+     * Sends the changes in as few notifications as fit under the payload limit. The first one asks receivers
+     * to resync if {@code missed} earlier changes went unannounced.
+     */
+    private void send(List<Change> changes, long missed) {
+        boolean resync = missed > 0;
+        int envelope = bytes(encode(new Notification(instanceId, resync, List.of())));
+        List<Change> chunk = new ArrayList<>();
+        int size = envelope;
+        for (Change change : changes) {
+            int changeSize = bytes(encode(change));
+            if (envelope + changeSize > MAX_PAYLOAD_BYTES) {
+                change = new Change(change.type(), change.id(), null, null);
+                changeSize = bytes(encode(change));
+            }
+            if (!chunk.isEmpty() && size + 1 + changeSize > MAX_PAYLOAD_BYTES) {
+                notify(new Notification(instanceId, resync, chunk));
+                resync = false;
+                chunk = new ArrayList<>();
+                size = envelope;
+            }
+            size += (chunk.isEmpty() ? 0 : 1) + changeSize;
+            chunk.add(change);
+        }
+        notify(new Notification(instanceId, resync, chunk));
+    }
+
+    private void notify(Notification notification) {
+        jdbcTemplate.query(NOTIFY, (RowCallbackHandler) rs -> {
+        }, channel, encode(notification));
+        sentCounter.increment();
+    }
+
+    private void listen() {
+        boolean resync = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for product changes from other instances on channel {}", channel);
+                if (resync) {
+                    resync("the change bus reconnected");
+                }
+                resync = true;
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                int pollMillis = Math.toIntExact(pollInterval.toMillis());
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(pollMillis);
+                    if (received != null && received.length > 0) {
+                        for (PGNotification notification : received) {
+                            receive(notification.getParameter());
+                        }
+                    } else if (!connection.isValid(5)) {
+                        throw new SQLException("Change bus connection is no longer valid");
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                resync = true;
+                log.warn("Product change bus disconnected, reconnecting in {}", reconnectDelay, ex);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void resync(String reason) {
+        log.info("Resynchronising product views because {}", reason);
+        resyncCounter.increment();
+        eventPublisher.publishEvent(new ProductResyncEvent(reason));
+    }
+
+    private String encode(Object notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode product change notification " + notification, ex);
+        }
+    }
+
+    private static int bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static Counter notifications(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("inventory.change_bus.notifications")
+                .description("Product change notifications sent to or received from other instances")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Changes one transaction of one instance committed, or part of them. {@code resync} asks receivers to
+     * rebuild their views, because the sender committed changes it could not announce.
+     */
+    record Notification(UUID origin, boolean resync, List<Change> changes) {
+    }
+
+    /**
+     * Wire form of a change. {@code before} and {@code after} are both {@code null} when the state was too large
+     * to send.
+     */
+    record Change(ProductChangedEvent.ChangeType type, UUID id, ProductResponse before, ProductResponse after) {
+    }
+
+    /**
+     * Sends a transaction's changes before it commits, together with any unannounced earlier ones, which count
+     * as announced once the transaction has committed.
+     */
+    private final class Batch implements TransactionSynchronization {
+        private final List<Change> changes;
+        private long missed;
+
+        private Batch(List<Change> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            missed = unannounced.get();
+            send(changes, missed);
+        }
+
+        @Override
+        public void afterCommit() {
+            unannounced.addAndGet(-missed);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductChangeBus.this);
+        }
+    }
+}
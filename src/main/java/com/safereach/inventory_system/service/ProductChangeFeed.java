@@ -0,0 +1,152 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductChangeResponse;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the {@link ProductChangeLog} to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber gets a virtual thread that parks on the log until changes arrive and then writes them in
+ * order. A slow client only slows its own thread: blocking socket writes park it, and the log keeps
+ * appending. A subscriber whose next change has been overwritten is sent an {@code overflow} event and
+ * disconnected. When it reconnects with a {@code Last-Event-ID} that can no longer be replayed, it gets a
+ * {@code reset} event and should reread the catalog. All subscribers are disconnected on a
+ * {@link ProductResyncEvent}, so they reconnect into that {@code reset}. Idle streams get a comment every
+ * {@code inventory.changes.heartbeat}, which is also how closed connections are noticed.
+ */
+@Slf4j
+@Component
+public class ProductChangeFeed {
+    private final ProductChangeLog changeLog;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-feed-", 0).factory());
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter overflowCounter;
+
+    public ProductChangeFeed(ProductChangeLog changeLog,
+                             MeterRegistry meterRegistry,
+                             @Value("${inventory.changes.heartbeat:PT15S}") Duration heartbeat,
+                             @Value("${inventory.changes.timeout:PT1H}") Duration timeout) {
+        this.changeLog = changeLog;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.overflowCounter = Counter.builder("inventory.changes.overflows")
+                .description("Subscribers disconnected because they fell further behind than the change buffer")
+                .register(meterRegistry);
+        Gauge.builder("inventory.changes.subscribers", subscribers, Set::size)
+                .description("Open change feed subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription that starts after {@code lastEventId}, or at the current head when it is absent.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        boolean resumable = lastEventId == null || changeLog.canResumeFrom(lastEventId);
+        long position = resumable && lastEventId != null ? lastEventId : changeLog.head();
+        Subscriber subscriber = new Subscriber(emitter, position, !resumable);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        senders.execute(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onResync(ProductResyncEvent event) {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.forEach(Subscriber::close);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final boolean reset;
+        private long position;
+        private volatile boolean closed;
+        private volatile Thread runner;
+
+        Subscriber(SseEmitter emitter, long position, boolean reset) {
+            this.emitter = emitter;
+            this.position = position;
+            this.reset = reset;
+        }
+
+        @Override
+        public void run() {
+            runner = Thread.currentThread();
+            try {
+                if (reset) {
+                    emitter.send(SseEmitter.event().name("reset").id(Long.toString(position)).data(position));
+                }
+                while (!closed) {
+                    long head = changeLog.awaitAfter(position, heartbeat);
+                    if (head == position) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    for (long sequence = position + 1; sequence <= head && !closed; sequence++) {
+                        ProductChangeResponse change = changeLog.get(sequence);
+                        if (change == null) {
+                            overflowCounter.increment();
+                            emitter.send(SseEmitter.event().name("overflow").data(position));
+                            emitter.complete();
+                            return;
+                        }
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(sequence))
+                                .data(change, MediaType.APPLICATION_JSON));
+                        position = sequence;
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Change feed subscriber disconnected at {}: {}", position, ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread thread = runner;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
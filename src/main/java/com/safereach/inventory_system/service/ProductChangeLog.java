@@ -0,0 +1,113 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductChangeResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size ring of the most recent committed product changes, numbered by a sequence that readers use as
+ * a resume position. Appends never wait for readers: a reader that falls more than
+ * {@code inventory.changes.buffer-size} changes behind finds its next change overwritten and has to
+ * resynchronise.
+ * <p>
+ * Sequences start at the boot time in microseconds, so positions handed out before a restart are always
+ * older than anything retained after it and are recognised as lost rather than silently replayed. Likewise,
+ * positions taken before a {@link ProductResyncEvent} are no longer resumable, since changes made on other
+ * instances may be missing from the log before that point.
+ */
+@Component
+public class ProductChangeLog {
+    private final AtomicReferenceArray<ProductChangeResponse> ring;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private volatile long head;
+    private volatile long resumeFloor;
+
+    public ProductChangeLog(@Value("${inventory.changes.buffer-size:4096}") int bufferSize) {
+        this(bufferSize, System.currentTimeMillis() * 1000);
+    }
+
+    ProductChangeLog(int bufferSize, long origin) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Change buffer size must be a power of two: " + bufferSize);
+        }
+        this.ring = new AtomicReferenceArray<>(bufferSize);
+        this.mask = bufferSize - 1;
+        this.head = origin;
+        this.resumeFloor = origin;
+    }
+
+    /**
+     * Sequence of the latest change; a reader positioned here is up to date.
+     */
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Whether the changes after {@code position} can still be replayed in full.
+     */
+    public boolean canResumeFrom(long position) {
+        long current = head;
+        return position <= current && position >= Math.max(resumeFloor, current - ring.length());
+    }
+
+    /**
+     * Returns the change with the given sequence, or {@code null} if it has already been overwritten.
+     */
+    public ProductChangeResponse get(long sequence) {
+        ProductChangeResponse change = ring.get((int) (sequence & mask));
+        return change != null && change.sequence() == sequence ? change : null;
+    }
+
+    /**
+     * Waits until a change after {@code position} has been appended or the timeout elapses, and returns the
+     * head. Readers park on a {@link ReentrantLock} condition rather than a monitor, so waiting virtual
+     * threads release their carrier.
+     */
+    public long awaitAfter(long position, Duration timeout) throws InterruptedException {
+        if (head > position) {
+            return head;
+        }
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (head <= position && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    @Order(0)
+    public void onResync(ProductResyncEvent event) {
+        resumeFloor = head + 1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            long sequence = head + 1;
+            ring.set((int) (sequence & mask), new ProductChangeResponse(sequence, event.type(), event.before(), event.after()));
+            head = sequence;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
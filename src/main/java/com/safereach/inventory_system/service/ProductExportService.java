@@ -0,0 +1,123 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.wire.ProductColumnsEncoder;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog to an output stream in constant memory. Rows are read through a
+ * forward-only cursor as {@link ProductResponse} projections, so nothing accumulates in the
+ * persistence context however large the table is. When the quantity engine or the write-behind buffer
+ * keeps quantities ahead of the database, each row carries the quantity readers see, as every other read does.
+ */
+@Service
+@Timed("inventory.service")
+public class ProductExportService {
+    private final ProductRepository productRepository;
+    private final QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+    private final QuantityEngine quantityEngine;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate exportTransaction;
+
+    public ProductExportService(ProductRepository productRepository,
+                                QuantityWriteBehindBuffer quantityWriteBehindBuffer,
+                                QuantityEngine quantityEngine,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.quantityWriteBehindBuffer = quantityWriteBehindBuffer;
+        this.quantityEngine = quantityEngine;
+        this.objectMapper = objectMapper;
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+    }
+
+    public void export(ProductFileFormat format, Sort sort, OutputStream out) {
+        exportTransaction.executeWithoutResult(status -> {
+            try (Stream<ProductResponse> rows = productRepository.streamAll(sort).map(this::withCurrentQuantity)) {
+                if (format == ProductFileFormat.COLUMNS) {
+                    writeColumns(rows.iterator(), out);
+                    return;
+                }
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    switch (format) {
+                        case NDJSON -> writeNdjson(rows.iterator(), writer);
+                        case CSV -> writeCsv(rows.iterator(), writer);
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private ProductResponse withCurrentQuantity(ProductResponse product) {
+        if (quantityEngine.isEnabled()) {
+            return quantityEngine.overlay(product);
+        }
+        return quantityWriteBehindBuffer.isEnabled()
+                ? quantityWriteBehindBuffer.overlay(product)
+                : product;
+    }
+
+    private void writeNdjson(Iterator<ProductResponse> rows, Writer writer) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                objectMapper.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<ProductResponse> rows, Writer writer) throws IOException {
+        writer.write("id,name,quantity,price\n");
+        while (rows.hasNext()) {
+            ProductResponse product = rows.next();
+            writer.write(product.id().toString());
+            writer.write(',');
+            writeCsvField(product.name(), writer);
+            writer.write(',');
+            writer.write(product.quantity().toString());
+            writer.write(',');
+            writer.write(product.price().toPlainString());
+            writer.write('\n');
+        }
+    }
+
+    private void writeColumns(Iterator<ProductResponse> rows, OutputStream out) throws IOException {
+        ProductColumnsEncoder encoder = new ProductColumnsEncoder(out);
+        while (rows.hasNext()) {
+            encoder.write(rows.next());
+        }
+        encoder.finish();
+    }
+
+    private static void writeCsvField(String value, Writer writer) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,41 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.wire.ProductColumns;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * Formats used to export and import the catalog. The line-oriented formats work both ways;
+ * {@link #COLUMNS} is export-only.
+ */
+public enum ProductFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv"),
+    COLUMNS(ProductColumns.MEDIA_TYPE, "pcol");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    ProductFileFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static ProductFileFormat fromMediaType(MediaType mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported product file format: " + mediaType));
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+}
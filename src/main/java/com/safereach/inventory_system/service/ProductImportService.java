@@ -0,0 +1,281 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductImportReport;
+import com.safereach.inventory_system.dto.ProductImportReport.LineError;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InvalidImportFileException;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products from a CSV or NDJSON upload, reading it line by line so that the file is never
+ * buffered in memory. Valid rows are upserted by name in chunks of {@code inventory.batch.chunk-size},
+ * each in its own transaction, so a failed chunk only affects its own lines. When a chunk names the same
+ * product more than once, its last line wins and the earlier ones are reported as failed.
+ */
+@Slf4j
+@Service
+@Timed("inventory.service")
+public class ProductImportService {
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+    private final QuantityEngine quantityEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ProductMapper productMapper,
+                                QuantityWriteBehindBuffer quantityWriteBehindBuffer,
+                                QuantityEngine quantityEngine,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.batch.chunk-size:500}") int chunkSize,
+                                @Value("${inventory.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.quantityWriteBehindBuffer = quantityWriteBehindBuffer;
+        this.quantityEngine = quantityEngine;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * @param fromLine first line to import (1-based); earlier lines are read and skipped, which makes
+     *                 an interrupted import resumable from {@code lastCommittedLine + 1}
+     */
+    public ProductImportReport importProducts(InputStream in, ProductFileFormat format, long fromLine) {
+        Progress progress = new Progress();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            Function<String, ProductRequest> parser = format == ProductFileFormat.CSV
+                    ? csvParser(reader.readLine(), progress)
+                    : this::parseJson;
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long lineNumber = ++progress.linesRead;
+                if (lineNumber < fromLine || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ProductRequest request = parser.apply(line);
+                    Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+                    if (violations.isEmpty()) {
+                        chunk.add(new Row(lineNumber, request));
+                    } else {
+                        progress.fail(lineNumber, violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining(", ")));
+                    }
+                } catch (IllegalArgumentException ex) {
+                    progress.fail(lineNumber, ex.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    commitChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(chunk, progress);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return progress.toReport();
+    }
+
+    private void commitChunk(List<Row> chunk, Progress progress) {
+        Map<String, Row> byName = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            Row superseded = byName.put(row.request().name(), row);
+            if (superseded != null) {
+                progress.fail(superseded.line(), "Superseded by line " + row.line() + ", which has the same name");
+            }
+        }
+        try {
+            int[] counts = chunkTransaction.execute(status -> upsert(byName));
+            progress.created += counts[0];
+            progress.updated += counts[1];
+            progress.lastCommittedLine = chunk.getLast().line();
+        } catch (RuntimeException ex) {
+            log.warn("Import chunk ending at line {} failed", chunk.getLast().line(), ex);
+            byName.values().forEach(row -> progress.fail(row.line(), "Chunk failed: " + ex.getMessage()));
+        }
+        log.info("Import progress: {} lines read, {} created, {} updated, {} failed",
+                progress.linesRead, progress.created, progress.updated, progress.failed);
+    }
+
+    private int[] upsert(Map<String, Row> byName) {
+        Map<String, Product> existing = productRepository.findByNameIn(byName.keySet()).stream()
+                .collect(Collectors.toMap(Product::getName, Function.identity()));
+
+        List<Product> created = new ArrayList<>();
+        List<ProductChangedEvent> changed = new ArrayList<>();
+        int updated = 0;
+        for (Row row : byName.values()) {
+            ProductRequest request = row.request();
+            Product product = existing.get(request.name());
+            if (product == null) {
+                created.add(productMapper.toEntity(request));
+                continue;
+            }
+            // the engine's quantity may be ahead of the row by up to one snapshot
+            ProductResponse before = quantityEngine.overlay(ProductChangedEvent.snapshot(product));
+            if (!before.quantity().equals(request.quantity()) || product.getPrice().compareTo(request.price()) != 0) {
+                product.setQuantity(request.quantity());
+                product.setPrice(request.price());
+                changed.add(ProductChangedEvent.updated(before, product));
+            }
+            updated++;
+        }
+        productRepository.saveAll(created);
+        productRepository.flush();
+        // nothing is announced until the whole chunk has reached the database
+        for (ProductChangedEvent event : changed) {
+            UUID id = event.productId();
+            int quantity = event.after().quantity();
+            AfterCommit.run(() -> {
+                quantityWriteBehindBuffer.overwrite(id, quantity);
+                quantityEngine.overwrite(id, quantity);
+            });
+            eventPublisher.publishEvent(event);
+        }
+        created.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.created(product)));
+        return new int[]{created.size(), updated};
+    }
+
+    private ProductRequest parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ProductRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private static Function<String, ProductRequest> csvParser(String header, Progress progress) {
+        if (header == null) {
+            return line -> null;
+        }
+        progress.linesRead++;
+        List<String> columns = parseCsvLine(header).stream().map(String::trim).toList();
+        int name = columns.indexOf("name");
+        int quantity = columns.indexOf("quantity");
+        int price = columns.indexOf("price");
+        if (name < 0 || quantity < 0 || price < 0) {
+            throw new InvalidImportFileException("CSV header must contain name, quantity and price columns");
+        }
+        return line -> {
+            List<String> fields = parseCsvLine(line);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            try {
+                return new ProductRequest(
+                        fields.get(name),
+                        fields.get(quantity).isBlank() ? null : Integer.valueOf(fields.get(quantity).trim()),
+                        fields.get(price).isBlank() ? null : new BigDecimal(fields.get(price).trim()));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Malformed number: " + ex.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Splits one RFC 4180 record. Quoted fields may contain commas and doubled quotes but not line breaks.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, ProductRequest request) {
+    }
+
+    private final class Progress {
+        private final List<LineError> errors = new ArrayList<>();
+        private long linesRead;
+        private long created;
+        private long updated;
+        private long failed;
+        private long lastCommittedLine;
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, message));
+            }
+        }
+
+        private ProductImportReport toReport() {
+            return new ProductImportReport(linesRead, created, updated, failed, lastCommittedLine, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityBufferedEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import com.safereach.inventory_system.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram inverted index over product names, used to serve case-insensitive substring
+ * search without the sequential scan that {@code LOWER(name) LIKE '%x%'} costs in the database.
+ * <p>
+ * Candidates are taken from the smallest posting list of the query's trigrams, intersected with the
+ * others and then verified with a plain substring check, so trigram collisions never leak into results.
+ * Until the first rebuild has completed {@link #isReady()} is {@code false} and callers should fall
+ * back to the database.
+ * <p>
+ * For {@link #suggest}, products are also kept ranked by quantity under every name prefix of up to
+ * {@value #RANKED_PREFIX_LENGTH} characters, so the broad prefixes typed first are answered by reading the head
+ * of one set. A longer prefix walks the set of its first characters in rank order and the range of lower-case
+ * names it covers side by side, and answers from whichever walk completes first, so it never costs more than
+ * twice the cheaper of the two. Quantities are the ones readers see: the quantity engine's, or the
+ * write-behind buffer's with its pending deltas, which re-rank a product as soon as they are accepted.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+    private static final Comparator<ProductResponse> RESULT_ORDER =
+            Comparator.comparing(ProductResponse::name).thenComparing(ProductResponse::id);
+    static final Comparator<ProductResponse> SUGGESTION_ORDER =
+            Comparator.comparing(ProductResponse::quantity).reversed().thenComparing(RESULT_ORDER);
+    private static final int RANKED_PREFIX_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+    private final QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+    private final QuantityEngine quantityEngine;
+    private final TransactionTemplate streamTransaction;
+
+    private final Map<UUID, ProductResponse> products = new ConcurrentHashMap<>();
+    private final Map<Long, Set<UUID>> postings = new ConcurrentHashMap<>();
+    private final NavigableMap<String, ProductResponse> byName = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableSet<ProductResponse>> rankedByPrefix = new ConcurrentHashMap<>();
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public ProductNameIndex(ProductRepository productRepository,
+                            QuantityWriteBehindBuffer quantityWriteBehindBuffer,
+                            QuantityEngine quantityEngine,
+                            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.quantityWriteBehindBuffer = quantityWriteBehindBuffer;
+        this.quantityEngine = quantityEngine;
+        this.streamTransaction = new TransactionTemplate(transactionManager);
+        this.streamTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<ProductResponse> search(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        long[] grams = trigrams(needle);
+
+        Collection<UUID> candidates;
+        if (grams.length == 0) {
+            candidates = products.keySet();
+        } else {
+            List<Set<UUID>> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Set<UUID> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            candidates = intersect(lists);
+        }
+
+        List<ProductResponse> matches = new ArrayList<>();
+        for (UUID id : candidates) {
+            ProductResponse product = products.get(id);
+            if (product != null && product.name().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(product);
+            }
+        }
+        matches.sort(RESULT_ORDER);
+        return matches;
+    }
+
+    /**
+     * Ids in every posting list, walking the smallest one and probing the others from the next smallest up, so
+     * most non-matching ids are dropped by the first probe.
+     */
+    private static List<UUID> intersect(List<Set<UUID>> lists) {
+        List<Set<UUID>> others = lists.subList(1, lists.size());
+        List<UUID> ids = new ArrayList<>();
+        for (UUID id : lists.getFirst()) {
+            if (others.stream().allMatch(other -> other.contains(id))) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Up to {@code limit} products whose name starts with {@code prefix} (case-insensitive), most stocked first.
+     */
+    public List<ProductResponse> suggest(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        String head = from.substring(0, Math.min(from.length(), RANKED_PREFIX_LENGTH));
+        NavigableSet<ProductResponse> ranked = rankedByPrefix.get(head);
+        if (ranked == null) {
+            return List.of();
+        }
+        if (from.length() <= RANKED_PREFIX_LENGTH) {
+            return ranked.stream().limit(limit).toList();
+        }
+
+        Iterator<ProductResponse> byRank = ranked.iterator();
+        Iterator<ProductResponse> byNameRange = byName.subMap(from, from + Character.MAX_VALUE).values().iterator();
+        List<ProductResponse> top = new ArrayList<>(limit);
+        List<ProductResponse> range = new ArrayList<>();
+        while (byRank.hasNext()) {
+            ProductResponse product = byRank.next();
+            if (product.name().toLowerCase(Locale.ROOT).startsWith(from)) {
+                top.add(product);
+                if (top.size() == limit) {
+                    return top;
+                }
+            }
+            if (!byNameRange.hasNext()) {
+                range.sort(SUGGESTION_ORDER);
+                return range.subList(0, Math.min(limit, range.size()));
+            }
+            range.add(byNameRange.next());
+        }
+        return top;
+    }
+
+    /**
+     * Rebuilds the index by streaming the products table. Changes that arrive while the stream is
+     * being consumed take precedence over the rows read from it.
+     */
+    @EventListener({ApplicationReadyEvent.class, ProductResyncEvent.class})
+    @Order(0)
+    public void rebuild() {
+        synchronized (this) {
+            ready = false;
+            rebuilding = true;
+            changedDuringRebuild.clear();
+            products.clear();
+            postings.clear();
+            byName.clear();
+            rankedByPrefix.clear();
+        }
+        try {
+            long count = streamTransaction.execute(status -> {
+                long rows = 0;
+                try (Stream<ProductResponse> stream = productRepository.streamAll(Sort.unsorted())) {
+                    for (Iterator<ProductResponse> it = stream.iterator(); it.hasNext(); rows++) {
+                        putIfUnchanged(it.next());
+                    }
+                }
+                return rows;
+            });
+            synchronized (this) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+                ready = true;
+            }
+            log.info("Product name index rebuilt with {} products", count);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.error("Product name index rebuild failed, searches will use the database", ex);
+        }
+    }
+
+    @EventListener
+    public synchronized void onQuantityBuffered(QuantityBufferedEvent event) {
+        requantify(event.productId());
+    }
+
+    @EventListener
+    public synchronized void onQuantityDeltaRejected(QuantityDeltaRejectedEvent event) {
+        requantify(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.productId());
+        }
+        if (event.after() == null) {
+            remove(event.before().id());
+        } else {
+            put(event.after());
+        }
+    }
+
+    private synchronized void putIfUnchanged(ProductResponse product) {
+        if (!changedDuringRebuild.contains(product.id())) {
+            put(product);
+        }
+    }
+
+    private void requantify(UUID id) {
+        ProductResponse product = products.get(id);
+        if (product != null) {
+            put(product);
+        }
+    }
+
+    /**
+     * Stores the product with the quantity readers currently see, which also settles out-of-order quantity
+     * events: whichever is applied last reads the latest quantity.
+     */
+    private void put(ProductResponse row) {
+        ProductResponse product = quantityEngine.isEnabled()
+                ? quantityEngine.overlay(row)
+                : quantityWriteBehindBuffer.overlay(row);
+        ProductResponse previous = products.put(product.id(), product);
+        if (product.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unrank(previous);
+        }
+        rank(product);
+        if (previous != null && previous.name().equals(product.name())) {
+            return;
+        }
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (long gram : trigrams(product.name().toLowerCase(Locale.ROOT))) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(product.id());
+        }
+    }
+
+    private void remove(UUID id) {
+        ProductResponse previous = products.remove(id);
+        if (previous != null) {
+            unlink(previous);
+            unrank(previous);
+        }
+    }
+
+    private void rank(ProductResponse product) {
+        String name = product.name().toLowerCase(Locale.ROOT);
+        byName.put(name + '\0' + product.id(), product);
+        for (int length = 1; length <= Math.min(name.length(), RANKED_PREFIX_LENGTH); length++) {
+            rankedByPrefix.computeIfAbsent(name.substring(0, length),
+                    key -> new ConcurrentSkipListSet<>(SUGGESTION_ORDER)).add(product);
+        }
+    }
+
+    private void unrank(ProductResponse product) {
+        String name = product.name().toLowerCase(Locale.ROOT);
+        byName.remove(name + '\0' + product.id(), product);
+        for (int length = 1; length <= Math.min(name.length(), RANKED_PREFIX_LENGTH); length++) {
+            Set<ProductResponse> ranked = rankedByPrefix.get(name.substring(0, length));
+            if (ranked != null) {
+                ranked.remove(product);
+            }
+        }
+    }
+
+    private void unlink(ProductResponse product) {
+        for (long gram : trigrams(product.name().toLowerCase(Locale.ROOT))) {
+            Set<UUID> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(product.id());
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        return IntStream.rangeClosed(0, text.length() - 3)
+                .mapToLong(i -> ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2))
+                .distinct()
+                .toArray();
+    }
+}
@@ -1,27 +1,77 @@
 package com.safereach.inventory_system.service;
 
+import com.safereach.inventory_system.dto.ProductCursor;
+import com.safereach.inventory_system.dto.ProductCursorPageResponse;
+import com.safereach.inventory_system.dto.ProductFilter;
 import com.safereach.inventory_system.dto.ProductRequest;
 import com.safereach.inventory_system.dto.ProductResponse;
 import com.safereach.inventory_system.dto.ProductSummaryResponse;
 import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
 import com.safereach.inventory_system.exception.ProductAlreadyExistsException;
 import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
 import com.safereach.inventory_system.mapper.ProductMapper;
 import com.safereach.inventory_system.repository.ProductRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.safereach.inventory_system.repository.ProductSpecifications;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
+@Timed("inventory.service")
 public class ProductService {
+    private static final String SUMMARY = "summary";
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final InventorySummaryEngine inventorySummaryEngine;
+    private final ProductNameIndex productNameIndex;
+    private final QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+    private final QuantityEngine quantityEngine;
+    private final ProductCache productCache;
+    private final InventoryVersion inventoryVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTransaction;
+    private final SingleFlight<String, List<ProductResponse>> searchQueries;
+    private final SingleFlight<String, ProductSummaryResponse> summaryQueries;
+
+    public ProductService(ProductRepository productRepository,
+                          ProductMapper productMapper,
+                          InventorySummaryEngine inventorySummaryEngine,
+                          ProductNameIndex productNameIndex,
+                          QuantityWriteBehindBuffer quantityWriteBehindBuffer,
+                          QuantityEngine quantityEngine,
+                          ProductCache productCache,
+                          InventoryVersion inventoryVersion,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.inventorySummaryEngine = inventorySummaryEngine;
+        this.productNameIndex = productNameIndex;
+        this.quantityWriteBehindBuffer = quantityWriteBehindBuffer;
+        this.quantityEngine = quantityEngine;
+        this.productCache = productCache;
+        this.inventoryVersion = inventoryVersion;
+        this.eventPublisher = eventPublisher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.searchQueries = new SingleFlight<>("search", meterRegistry);
+        this.summaryQueries = new SingleFlight<>(SUMMARY, meterRegistry);
+    }
 
     @Transactional
     public ProductResponse createProduct(ProductRequest productRequest) {
@@ -30,50 +80,167 @@ public class ProductService {
             throw new ProductAlreadyExistsException(name);
         }
         Product createdProduct = productRepository.save(productMapper.toEntity(productRequest));
+        eventPublisher.publishEvent(ProductChangedEvent.created(createdProduct));
         return productMapper.toResponse(createdProduct);
     }
 
-    public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
-                .map(productMapper::toResponse);
+    public ProductResponse getProductById(UUID id) {
+        ProductResponse product = productCache.get(id, productRepository::findResponseById)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        return withCurrentQuantity(product);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> getAllProducts(ProductFilter filter, Pageable pageable) {
+        Page<ProductResponse> products = productRepository.findResponses(ProductSpecifications.matching(filter), pageable);
+        return overlaysQuantity()
+                ? products.map(this::withCurrentQuantity)
+                : products;
+    }
+
+    /**
+     * Returns the page of products following the cursor using a seek query, which costs the same
+     * regardless of depth and never issues a count query.
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse scrollProducts(ProductFilter filter, ProductCursor cursor, int size) {
+        Specification<Product> seek = cursor.isFirst()
+                ? ProductSpecifications.matching(filter)
+                : ProductSpecifications.matching(filter).and(ProductSpecifications.after(
+                        cursor.sortField(), cursor.direction(), cursor.lastValue(), cursor.lastId()));
+        List<ProductResponse> rows = productRepository.findResponses(seek, cursor.sort(), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<ProductResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursor.after(content.getLast()).encode() : null;
+
+        if (overlaysQuantity()) {
+            content = content.stream().map(this::withCurrentQuantity).toList();
+        }
+        return new ProductCursorPageResponse(content, nextCursor);
     }
 
     public List<ProductResponse> searchProductByName(String name) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
+        List<ProductResponse> products = productNameIndex.isReady()
+                ? productNameIndex.search(name)
+                : searchQueries.execute(name, productRepository::findResponsesByNameContainingIgnoreCase);
         if (products.isEmpty()) {
             throw new ProductNotFoundException("No products found with name: " + name);
         }
-        return products.stream()
-                .map(productMapper::toResponse)
-                .toList();
+        return overlaysQuantity()
+                ? products.stream().map(this::withCurrentQuantity).toList()
+                : products;
     }
 
-    @Transactional
-    public void deleteProduct(UUID id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException("Product not found with id: " + id);
-        }
-        productRepository.deleteById(id);
+    /**
+     * Typeahead suggestions: up to {@code limit} products whose name starts with {@code prefix}, most stocked
+     * first. No match is an empty list rather than an error.
+     */
+    public List<ProductResponse> suggestProducts(String prefix, int limit) {
+        List<ProductResponse> products = productNameIndex.isReady()
+                ? productNameIndex.suggest(prefix, limit)
+                : productRepository.findResponsesByNameStartingWithIgnoreCaseOrderByQuantityDescNameAscIdAsc(
+                        prefix, Limit.of(limit));
+        // re-sorted so the order matches the quantities returned, which can move between ranking and overlay
+        return overlaysQuantity()
+                ? products.stream().map(this::withCurrentQuantity).sorted(ProductNameIndex.SUGGESTION_ORDER).toList()
+                : products;
     }
 
     @Transactional
-    public ProductResponse updateProductQuantity(UUID id, Integer newQuantity) {
+    public void deleteProduct(UUID id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        productRepository.delete(product);
+        quantityWriteBehindBuffer.forget(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
+    }
+
+    /**
+     * The quantity engine sets the quantity without touching the database, so only the other modes open a
+     * transaction.
+     */
+    public ProductResponse updateProductQuantity(UUID id, Integer newQuantity) {
+        if (quantityEngine.isEnabled()) {
+            ProductResponse product = getProductById(id);
+            return publishQuantityChange(product, quantityEngine.set(id, newQuantity));
+        }
+        return writeTransaction.execute(status -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+            ProductResponse before = ProductChangedEvent.snapshot(product);
+
+            product.setQuantity(newQuantity);
+            Product updatedProduct = productRepository.save(product);
+            AfterCommit.run(() -> quantityWriteBehindBuffer.overwrite(id, newQuantity));
+            eventPublisher.publishEvent(ProductChangedEvent.updated(before, updatedProduct));
+            return productMapper.toResponse(updatedProduct);
+        });
+    }
+
+    public ProductResponse adjustProductQuantity(UUID id, int delta) {
+        if (quantityEngine.isEnabled()) {
+            ProductResponse product = getProductById(id);
+            return publishQuantityChange(product, quantityEngine.adjust(id, delta));
+        }
+        if (quantityWriteBehindBuffer.isEnabled()) {
+            ProductResponse adjusted = quantityWriteBehindBuffer.adjust(id, delta);
+            // the buffered delta is already visible through overlay, long before the flush publishes an event
+            inventoryVersion.advance();
+            return adjusted;
+        }
+        // the change event is published inside the transaction, so its listeners commit or roll back with it
+        return writeTransaction.execute(status -> {
+            ProductRepository.ProductProjection adjusted = productRepository.adjustQuantity(id, delta)
+                    .orElseThrow(() -> {
+                        if (!productRepository.existsById(id)) {
+                            return new ProductNotFoundException("Product not found with id: " + id);
+                        }
+                        return delta > 0
+                                ? new QuantityOutOfRangeException("Adjusting product " + id + " by " + delta
+                                        + " would exceed the maximum quantity")
+                                : new InsufficientStockException("Insufficient stock to adjust product " + id + " by " + delta);
+                    });
 
-        product.setQuantity(newQuantity);
-        Product updatedProduct = productRepository.save(product);
-        return productMapper.toResponse(updatedProduct);
+            ProductResponse updatedProduct = new ProductResponse(
+                    adjusted.getId(), adjusted.getName(), adjusted.getQuantity(), adjusted.getPrice());
+            ProductResponse before = new ProductResponse(
+                    adjusted.getId(), adjusted.getName(), adjusted.getQuantity() - delta, adjusted.getPrice());
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, before, updatedProduct));
+            return updatedProduct;
+        });
     }
 
+    /**
+     * Served by the summary engine; until it has been seeded, concurrent callers share one database computation.
+     */
     public ProductSummaryResponse getProductSummary() {
-        ProductRepository.ProductSummaryProjection summary = productRepository.getProductSummary();
-        List<ProductSummaryResponse.OutOfStockProduct> outOfStockProducts = productRepository.findByQuantity(0);
-        return new ProductSummaryResponse(
-                summary.getTotalProducts(),
-                summary.getTotalQuantity(),
-                summary.getAveragePrice(),
-                outOfStockProducts
-        );
+        return inventorySummaryEngine.isReady()
+                ? inventorySummaryEngine.getSummary()
+                : summaryQueries.execute(SUMMARY, key -> inventorySummaryEngine.getSummary());
+    }
+
+    private boolean overlaysQuantity() {
+        return quantityEngine.isEnabled() || quantityWriteBehindBuffer.isEnabled();
+    }
+
+    /**
+     * Replaces the quantity read from the database with the one readers should see, when a mode that keeps
+     * quantities ahead of the database is enabled.
+     */
+    private ProductResponse withCurrentQuantity(ProductResponse product) {
+        if (quantityEngine.isEnabled()) {
+            return quantityEngine.overlay(product);
+        }
+        return quantityWriteBehindBuffer.isEnabled()
+                ? quantityWriteBehindBuffer.overlay(product)
+                : product;
+    }
+
+    private ProductResponse publishQuantityChange(ProductResponse product, QuantityEngine.Change change) {
+        ProductResponse before = new ProductResponse(product.id(), product.name(), change.before(), product.price());
+        ProductResponse after = new ProductResponse(product.id(), product.name(), change.after(), product.price());
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, before, after));
+        return after;
     }
 }
@@ -0,0 +1,340 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Optional mode in which this instance is the authority for product quantities
+ * ({@code inventory.quantity-engine.enabled}).
+ * <p>
+ * Quantities live in a {@link QuantityTable} keyed by product id. Every change is appended to a memory-mapped
+ * {@link QuantityWal} and acknowledged once the log is durable, so setting or adjusting a quantity costs a
+ * memory copy plus a share of one group-committed flush instead of a database round trip. Changed quantities
+ * are written to the {@code products} table every {@code snapshot-interval}, after which the log is
+ * checkpointed. On startup the table is loaded from the database and the log is replayed from the last
+ * checkpoint, so no acknowledged change is lost across a restart.
+ * <p>
+ * A change is visible to readers as soon as it is logged, slightly before it is durable; the writer is only
+ * answered once it is, and a snapshot only writes quantities whose log records are durable. If the log cannot
+ * be flushed the engine stops: reads, writes and snapshots fail from then on, so a change that was never
+ * acknowledged is neither served nor written to the database, and a restart recovers from the durable log. Only quantity changes made through
+ * this engine are logged: product creation and deletion are picked up from committed events. Database queries
+ * that filter or aggregate on quantity see the last snapshot.
+ */
+@Slf4j
+@Component
+public class QuantityEngine {
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final QuantityTable table = new QuantityTable(1024);
+    private final StampedLock lock = new StampedLock();
+    private final QuantityWal wal;
+    private final Duration snapshotInterval;
+    private final Timer commitTimer;
+    private final Timer snapshotTimer;
+    private ScheduledExecutorService snapshotter;
+    private volatile long checkpoint;
+
+    public QuantityEngine(ProductRepository productRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${inventory.quantity-engine.enabled:false}") boolean enabled,
+                          @Value("${inventory.quantity-engine.wal-directory:data/quantity-wal}") Path walDirectory,
+                          @Value("${inventory.quantity-engine.segment-size:64MB}") DataSize segmentSize,
+                          @Value("${inventory.quantity-engine.fsync:true}") boolean fsync,
+                          @Value("${inventory.quantity-engine.snapshot-interval:PT1S}") Duration snapshotInterval,
+                          @Value("${inventory.write-behind.enabled:false}") boolean writeBehindEnabled) {
+        if (enabled && writeBehindEnabled) {
+            throw new IllegalStateException(
+                    "inventory.quantity-engine.enabled and inventory.write-behind.enabled cannot both be set");
+        }
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.wal = enabled ? new QuantityWal(walDirectory, Math.toIntExact(segmentSize.toBytes()), fsync) : null;
+        this.snapshotInterval = snapshotInterval;
+        this.commitTimer = Timer.builder("inventory.quantity_engine.commit")
+                .description("Time a quantity change waits for the log to become durable")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.snapshotTimer = Timer.builder("inventory.quantity_engine.snapshot")
+                .description("Time taken to write changed quantities to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (enabled) {
+            Gauge.builder("inventory.quantity_engine.log.pending", this, engine -> engine.wal.lastSequence() - engine.checkpoint)
+                    .description("Logged quantity changes not yet covered by a database snapshot")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads quantities from the database and replays the log written since the last snapshot.
+     */
+    @PostConstruct
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        productRepository.forEachQuantity((id, quantity) ->
+                table.insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), quantity));
+        checkpoint = wal.readCheckpoint();
+        int[] replayed = new int[1];
+        long lastSequence = wal.replay(checkpoint, (msb, lsb, quantity) -> {
+            int slot = table.find(msb, lsb);
+            if (slot >= 0) {
+                table.set(slot, quantity);
+                replayed[0]++;
+            }
+        });
+        wal.open(lastSequence);
+        log.info("Quantity engine loaded {} products and replayed {} logged changes after sequence {} in {} ms",
+                table.size(), replayed[0], checkpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("quantity-snapshot").factory());
+        long intervalNanos = snapshotInterval.toNanos();
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Current quantity held by the engine, or {@link QuantityTable#MISSING} if it does not know the product.
+     *
+     * @throws IllegalStateException if the log could not be flushed, since the table may hold changes it lost
+     */
+    public int quantity(UUID id) {
+        if (enabled) {
+            wal.checkNotFailed();
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        int quantity = table.get(msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                quantity = table.get(msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return quantity;
+    }
+
+    /**
+     * Returns the product with the engine's quantity, or the product itself if the engine does not know it.
+     */
+    public ProductResponse overlay(ProductResponse product) {
+        int quantity = quantity(product.id());
+        return quantity == QuantityTable.MISSING || quantity == product.quantity() ? product : new ProductResponse(
+                product.id(), product.name(), quantity, product.price());
+    }
+
+    public Change set(UUID id, int quantity) {
+        long sequence;
+        int before;
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(id);
+            before = table.quantityAt(slot);
+            sequence = log(slot, id, quantity);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        awaitDurable(sequence);
+        return new Change(before, quantity);
+    }
+
+    public Change adjust(UUID id, int delta) {
+        long sequence;
+        int before;
+        int after;
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(id);
+            before = table.quantityAt(slot);
+            long adjusted = (long) before + delta;
+            if (adjusted < 0) {
+                throw new InsufficientStockException("Insufficient stock to adjust product " + id + " by " + delta);
+            }
+            if (adjusted > Integer.MAX_VALUE) {
+                throw new QuantityOutOfRangeException("Adjusting product " + id + " by " + delta
+                        + " would exceed the maximum quantity");
+            }
+            after = (int) adjusted;
+            sequence = log(slot, id, after);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        awaitDurable(sequence);
+        return new Change(before, after);
+    }
+
+    /**
+     * Called when a product's quantity is written to the database outside the engine, such as by an import,
+     * so the engine's value does not overwrite it at the next snapshot.
+     */
+    public void overwrite(UUID id, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        long sequence;
+        long stamp = lock.writeLock();
+        try {
+            int slot = table.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0) {
+                return;
+            }
+            sequence = log(slot, id, quantity);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        awaitDurable(sequence);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.type() == ProductChangedEvent.ChangeType.UPDATED) {
+            return;
+        }
+        UUID id = event.productId();
+        long stamp = lock.writeLock();
+        try {
+            if (event.type() == ProductChangedEvent.ChangeType.CREATED) {
+                table.insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), event.after().quantity());
+            } else {
+                table.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Writes every quantity changed since the previous snapshot to the database in one statement, then
+     * checkpoints the log at the last change the snapshot is known to cover. The quantities are read together
+     * with that change's sequence number and only written once the log is durable up to it.
+     */
+    public synchronized void snapshot() {
+        QuantityTable.DirtyIds dirty;
+        Map<UUID, Integer> quantities;
+        long sequence;
+        long stamp = lock.writeLock();
+        try {
+            dirty = table.drainDirty();
+            sequence = wal.lastSequence();
+            quantities = HashMap.newHashMap(dirty.count());
+            for (int i = 0; i < dirty.count(); i++) {
+                int quantity = table.get(dirty.msb()[i], dirty.lsb()[i]);
+                if (quantity != QuantityTable.MISSING) {
+                    quantities.put(new UUID(dirty.msb()[i], dirty.lsb()[i]), quantity);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (sequence == checkpoint) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            wal.awaitDurable(sequence);
+            productRepository.writeQuantities(quantities);
+            wal.checkpoint(sequence);
+            checkpoint = sequence;
+        } catch (RuntimeException ex) {
+            stamp = lock.writeLock();
+            try {
+                for (int i = 0; i < dirty.count(); i++) {
+                    table.markDirty(dirty.msb()[i], dirty.lsb()[i]);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            throw ex;
+        } finally {
+            sample.stop(snapshotTimer);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotter == null) {
+            return;
+        }
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(snapshotInterval.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+            snapshot();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.error("Final quantity snapshot failed, changes after sequence {} will be replayed from the log", checkpoint, ex);
+        } finally {
+            wal.close();
+        }
+    }
+
+    private int slot(UUID id) {
+        int slot = table.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            throw new ProductNotFoundException("Product not found with id: " + id);
+        }
+        return slot;
+    }
+
+    private long log(int slot, UUID id, int quantity) {
+        long sequence = wal.append(id.getMostSignificantBits(), id.getLeastSignificantBits(), quantity);
+        table.set(slot, quantity);
+        return sequence;
+    }
+
+    private void awaitDurable(long sequence) {
+        long started = System.nanoTime();
+        wal.awaitDurable(sequence);
+        commitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException ex) {
+            log.error("Quantity snapshot failed, retrying on next snapshot", ex);
+        }
+    }
+
+    /**
+     * Quantity of a product immediately before and after a change made through the engine.
+     */
+    public record Change(int before, int after) {
+    }
+}
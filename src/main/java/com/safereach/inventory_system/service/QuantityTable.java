@@ -0,0 +1,220 @@
+package com.safereach.inventory_system.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from product id to quantity, laid out in parallel primitive arrays so a large
+ * catalog costs a handful of arrays rather than one map entry, boxed key and boxed value per product. Ids are
+ * stored as their two 64-bit halves and probed linearly; removed slots are left as tombstones until the next
+ * resize.
+ * <p>
+ * Not thread-safe: {@link QuantityEngine} serializes writers and validates lock-free reads. All arrays of one
+ * generation live in a single {@link Slots} instance, so a reader racing a resize always sees matching lengths.
+ * <p>
+ * Slots changed through {@link #set} are marked dirty for the current epoch and their ids queued once;
+ * {@link #drainDirty()} hands the queue to the snapshot writer and starts a new epoch, which clears every mark
+ * without touching the slots.
+ */
+final class QuantityTable {
+    static final int MISSING = -1;
+
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte REMOVED = 2;
+    private static final int MIN_CAPACITY = 16;
+
+    private Slots slots;
+    private int size;
+    private int occupied;
+    private int epoch = 1;
+    private long[] dirtyMsb = new long[MIN_CAPACITY];
+    private long[] dirtyLsb = new long[MIN_CAPACITY];
+    private int dirtyCount;
+
+    QuantityTable(int expectedSize) {
+        this.slots = new Slots(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Quantity of the product, or {@link #MISSING}. Safe to call without the writer's lock as long as the
+     * caller discards the result when its read is invalidated; the probe is bounded, so a torn read cannot loop.
+     */
+    int get(long msb, long lsb) {
+        Slots current = slots;
+        int mask = current.quantities.length - 1;
+        int index = index(msb, lsb, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            byte state = current.states[index];
+            if (state == FREE) {
+                return MISSING;
+            }
+            if (state == FULL && current.msb[index] == msb && current.lsb[index] == lsb) {
+                return current.quantities[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Slot holding the product, or {@code -1}. Slots stay valid until the next {@link #insert}.
+     */
+    int find(long msb, long lsb) {
+        Slots current = slots;
+        int mask = current.quantities.length - 1;
+        int index = index(msb, lsb, mask);
+        while (current.states[index] != FREE) {
+            if (current.states[index] == FULL && current.msb[index] == msb && current.lsb[index] == lsb) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    int quantityAt(int slot) {
+        return slots.quantities[slot];
+    }
+
+    /**
+     * Changes the quantity in a slot returned by {@link #find} and marks it for the next snapshot.
+     */
+    void set(int slot, int quantity) {
+        Slots current = slots;
+        current.quantities[slot] = quantity;
+        if (current.marks[slot] != epoch) {
+            current.marks[slot] = epoch;
+            queueDirty(current.msb[slot], current.lsb[slot]);
+        }
+    }
+
+    /**
+     * Adds a product whose quantity is already persisted, so it is not marked dirty.
+     *
+     * @return {@code false} if the product was already present, in which case it is left unchanged
+     */
+    boolean insert(long msb, long lsb, int quantity) {
+        if (find(msb, lsb) >= 0) {
+            return false;
+        }
+        if (2 * (occupied + 1) > slots.quantities.length) {
+            resize(capacityFor(2 * (size + 1)));
+        }
+        Slots current = slots;
+        int mask = current.quantities.length - 1;
+        int index = index(msb, lsb, mask);
+        while (current.states[index] == FULL) {
+            index = (index + 1) & mask;
+        }
+        if (current.states[index] == FREE) {
+            occupied++;
+        }
+        current.msb[index] = msb;
+        current.lsb[index] = lsb;
+        current.quantities[index] = quantity;
+        current.marks[index] = 0;
+        current.states[index] = FULL;
+        size++;
+        return true;
+    }
+
+    boolean remove(long msb, long lsb) {
+        int slot = find(msb, lsb);
+        if (slot < 0) {
+            return false;
+        }
+        slots.states[slot] = REMOVED;
+        size--;
+        return true;
+    }
+
+    /**
+     * Queues the product for the next snapshot again, after a snapshot that drained it failed.
+     */
+    void markDirty(long msb, long lsb) {
+        int slot = find(msb, lsb);
+        if (slot >= 0 && slots.marks[slot] != epoch) {
+            slots.marks[slot] = epoch;
+            queueDirty(msb, lsb);
+        }
+    }
+
+    /**
+     * Ids changed since the previous drain, each listed once. Quantities are not copied: a snapshot may write
+     * newer values than those current at the drain, which replaying the log from the drain point converges on anyway.
+     */
+    DirtyIds drainDirty() {
+        DirtyIds drained = new DirtyIds(dirtyMsb, dirtyLsb, dirtyCount);
+        dirtyMsb = new long[MIN_CAPACITY];
+        dirtyLsb = new long[MIN_CAPACITY];
+        dirtyCount = 0;
+        epoch++;
+        return drained;
+    }
+
+    private void queueDirty(long msb, long lsb) {
+        if (dirtyCount == dirtyMsb.length) {
+            dirtyMsb = Arrays.copyOf(dirtyMsb, dirtyCount * 2);
+            dirtyLsb = Arrays.copyOf(dirtyLsb, dirtyCount * 2);
+        }
+        dirtyMsb[dirtyCount] = msb;
+        dirtyLsb[dirtyCount++] = lsb;
+    }
+
+    private void resize(int capacity) {
+        Slots old = slots;
+        Slots resized = new Slots(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.states.length; i++) {
+            if (old.states[i] != FULL) {
+                continue;
+            }
+            int index = index(old.msb[i], old.lsb[i], mask);
+            while (resized.states[index] != FREE) {
+                index = (index + 1) & mask;
+            }
+            resized.msb[index] = old.msb[i];
+            resized.lsb[index] = old.lsb[i];
+            resized.quantities[index] = old.quantities[i];
+            resized.marks[index] = old.marks[i];
+            resized.states[index] = FULL;
+        }
+        occupied = size;
+        slots = resized;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, 2 * expectedSize - 1)) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    private static int index(long msb, long lsb, int mask) {
+        long hash = msb ^ Long.rotateLeft(lsb, 32);
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33)) & mask;
+    }
+
+    record DirtyIds(long[] msb, long[] lsb, int count) {
+    }
+
+    private static final class Slots {
+        private final long[] msb;
+        private final long[] lsb;
+        private final int[] quantities;
+        private final int[] marks;
+        private final byte[] states;
+
+        private Slots(int capacity) {
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            this.quantities = new int[capacity];
+            this.marks = new int[capacity];
+            this.states = new byte[capacity];
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.safereach.inventory_system.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log of absolute product quantities for {@link QuantityEngine}, kept in fixed-size memory-mapped
+ * segment files named after the sequence number of their first record.
+ * <p>
+ * Each record is 32 bytes: sequence number, the two halves of the product id, the quantity and a CRC32C of the
+ * preceding 28 bytes. Records carry absolute quantities, so replaying one that is already reflected in the
+ * database is harmless. Replay stops at the first record whose checksum or sequence number does not match,
+ * which is where a torn write left off, and a recovered log always continues in a fresh segment so nothing is
+ * ever written over a torn tail.
+ * <p>
+ * Appending only copies the record into the mapping. With {@code fsync} on, a single flusher thread forces the
+ * written range to disk and releases every caller of {@link #awaitDurable} whose record it covered at once, so
+ * concurrent writers share one flush (group commit). With {@code fsync} off a record is durable as soon as it
+ * is in the mapping, which survives a crash of the process but not of the machine.
+ * <p>
+ * A failed flush is final: every waiting and later caller of {@link #awaitDurable} and {@link #append} fails,
+ * since the log can no longer promise that what it acknowledges survives a crash.
+ * <p>
+ * {@link #append} must not be called concurrently; the engine calls it under its write lock.
+ */
+@Slf4j
+final class QuantityWal implements Closeable {
+    static final int RECORD_SIZE = 32;
+
+    private static final int CHECKSUMMED_SIZE = RECORD_SIZE - Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final Deque<Segment> closedSegments = new ConcurrentLinkedDeque<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32C checksum = new CRC32C();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushWanted = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private long writtenSequence;
+    private int writtenEnd;
+    private int forcedEnd;
+    private long durableSequence;
+    private volatile RuntimeException failure;
+    private boolean closed;
+
+    private volatile Segment current;
+    private volatile long lastSequence;
+    private int position;
+    private Thread flusher;
+
+    QuantityWal(Path directory, int segmentSize, boolean fsync) {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("WAL segment size must hold at least one record, got " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.fsync = fsync;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Sequence number up to which the database snapshot is known to be complete, or 0 if none was taken.
+     */
+    long readCheckpoint() {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file).strip()) : 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Feeds every intact record after {@code checkpoint} to {@code replay} in sequence order. A segment that does
+     * not start where the intact log ends is deleted along with all later ones, since no record in them was ever
+     * acknowledged.
+     *
+     * @return the sequence number of the last intact record, or {@code checkpoint} if there is none after it
+     */
+    long replay(long checkpoint, RecordConsumer replay) {
+        try {
+            Files.createDirectories(directory);
+            List<Segment> segments = new ArrayList<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .map(Segment::of)
+                        .sorted((a, b) -> Long.compare(a.firstSequence, b.firstSequence))
+                        .forEach(segments::add);
+            }
+
+            long expected = segments.isEmpty() ? checkpoint + 1 : segments.getFirst().firstSequence;
+            boolean broken = false;
+            byte[] bytes = new byte[RECORD_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            for (Segment segment : segments) {
+                if (broken || segment.firstSequence != expected) {
+                    log.warn("Deleting WAL segment {} past the end of the intact log at sequence {}", segment.path, expected - 1);
+                    Files.delete(segment.path);
+                    broken = true;
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    for (int offset = 0; offset + RECORD_SIZE <= mapped.capacity(); offset += RECORD_SIZE) {
+                        mapped.get(offset, bytes);
+                        long sequence = buffer.getLong(0);
+                        if (sequence != expected || checksum(bytes) != buffer.getInt(CHECKSUMMED_SIZE)) {
+                            break;
+                        }
+                        if (sequence > checkpoint) {
+                            replay.accept(buffer.getLong(8), buffer.getLong(16), buffer.getInt(24));
+                        }
+                        expected++;
+                    }
+                }
+                closedSegments.add(segment);
+            }
+            lastSequence = Math.max(checkpoint, expected - 1);
+            return lastSequence;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Starts appending after {@code lastSequence} in a new segment. Must follow {@link #replay}.
+     */
+    void open(long lastSequence) {
+        // an empty segment left by a crash right after the previous open is about to be recreated
+        closedSegments.removeIf(segment -> segment.firstSequence > lastSequence);
+        this.lastSequence = lastSequence;
+        this.writtenSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.current = Segment.create(directory, lastSequence + 1, segmentSize);
+        if (fsync) {
+            flusher = Thread.ofPlatform().daemon().name("quantity-wal-flush").start(this::flushLoop);
+        }
+    }
+
+    /**
+     * Copies a record into the log. It is not durable until {@link #awaitDurable} returns for its sequence number.
+     *
+     * @return the record's sequence number
+     * @throws IllegalStateException if an earlier flush failed
+     */
+    long append(long msb, long lsb, int quantity) {
+        checkNotFailed();
+        if (position + RECORD_SIZE > segmentSize) {
+            roll();
+        }
+        long sequence = lastSequence + 1;
+        record.putLong(0, sequence)
+                .putLong(8, msb)
+                .putLong(16, lsb)
+                .putInt(24, quantity);
+        record.putInt(CHECKSUMMED_SIZE, checksum(record.array()));
+        current.buffer.put(position, record.array());
+        position += RECORD_SIZE;
+        lastSequence = sequence;
+
+        if (fsync) {
+            flushLock.lock();
+            try {
+                writtenSequence = sequence;
+                writtenEnd = position;
+                flushWanted.signal();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return sequence;
+    }
+
+    void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                checkNotFailed();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Records that the database holds every change up to {@code sequence} and deletes segments made redundant by it.
+     */
+    void checkpoint(long sequence) {
+        try {
+            Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(Long.toString(sequence).getBytes()));
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            Segment oldest;
+            while ((oldest = closedSegments.peekFirst()) != null && lastSequenceOf(oldest) <= sequence) {
+                closedSegments.pollFirst();
+                Files.deleteIfExists(oldest.path);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        flushLock.lock();
+        try {
+            closed = true;
+            flushWanted.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    void checkNotFailed() {
+        RuntimeException cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("Quantity log could not be flushed", cause);
+        }
+    }
+
+    private long lastSequenceOf(Segment segment) {
+        Segment next = segment;
+        for (Segment closedSegment : closedSegments) {
+            if (closedSegment.firstSequence > segment.firstSequence) {
+                next = closedSegment;
+                break;
+            }
+        }
+        if (next == segment) {
+            next = current;
+        }
+        return next.firstSequence - 1;
+    }
+
+    /**
+     * Forces the full segment before moving on, so the flusher only ever has to cover the current one.
+     */
+    private void roll() {
+        Segment full = current;
+        full.buffer.force();
+        Segment next = Segment.create(directory, lastSequence + 1, segmentSize);
+        if (fsync) {
+            flushLock.lock();
+            try {
+                current = next;
+                writtenEnd = 0;
+                forcedEnd = 0;
+                durableSequence = Math.max(durableSequence, lastSequence);
+                flushed.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        } else {
+            current = next;
+        }
+        position = 0;
+        closedSegments.add(full);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            flushLock.lock();
+            try {
+                while (!closed && durableSequence == writtenSequence) {
+                    flushWanted.awaitUninterruptibly();
+                }
+                if (durableSequence == writtenSequence) {
+                    return;
+                }
+                segment = current;
+                from = forcedEnd;
+                to = writtenEnd;
+                target = writtenSequence;
+            } finally {
+                flushLock.unlock();
+            }
+
+            RuntimeException error = null;
+            try {
+                if (to > from) {
+                    segment.buffer.force(from, to - from);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to flush the quantity log", ex);
+                error = ex;
+            }
+
+            flushLock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                    closed = true;
+                } else {
+                    if (segment == current && to > forcedEnd) {
+                        forcedEnd = to;
+                    }
+                    durableSequence = Math.max(durableSequence, target);
+                }
+                flushed.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private int checksum(byte[] bytes) {
+        checksum.reset();
+        checksum.update(bytes, 0, CHECKSUMMED_SIZE);
+        return (int) checksum.getValue();
+    }
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long msb, long lsb, int quantity);
+    }
+
+    private record Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+
+        static Segment of(Path path) {
+            String name = path.getFileName().toString();
+            return new Segment(path, Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), null);
+        }
+
+        static Segment create(Path directory, long firstSequence, int size) {
+            Path path = directory.resolve("%020d%s".formatted(firstSequence, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                return new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityBufferedEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional write-behind mode for relative quantity changes ({@code inventory.write-behind.enabled}).
+ * <p>
+ * Deltas for each product are accumulated in a lock-free per-product counter and written to the
+ * {@code products} table in a single statement every {@code flush-interval} or after
+ * {@code max-pending-changes} changes, whichever comes first. Each entry also tracks the quantity
+ * visible to readers (last committed database value plus deltas not yet committed), which is used both to
+ * reject adjustments that would oversell and to overlay pending changes on reads. The buffer's own flushes
+ * settle the committed value directly. Any other committed {@link ProductChangedEvent}, from outside the buffer
+ * or another instance, is shown to readers at once but marks the entry stale: events of concurrent
+ * transactions can arrive in either order, so the next adjustment rereads the row before checking against it.
+ * Every entry is reloaded when a {@link ProductResyncEvent} reports that events may have been missed.
+ * <p>
+ * A delta the database rejects at flush time is reported with a {@link QuantityDeltaRejectedEvent}, since
+ * the callers that made it have already been answered.
+ */
+@Slf4j
+@Component
+public class QuantityWriteBehindBuffer {
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final boolean enabled;
+    private final int maxPendingChanges;
+    private final Duration shutdownTimeout;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    private final Timer flushTimer;
+    private final Counter rejectedCounter;
+    private volatile boolean closed;
+
+    public QuantityWriteBehindBuffer(ProductRepository productRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${inventory.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${inventory.write-behind.flush-interval:PT0.05S}") Duration flushInterval,
+                                     @Value("${inventory.write-behind.max-pending-changes:1000}") int maxPendingChanges,
+                                     @Value("${inventory.write-behind.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxPendingChanges = maxPendingChanges;
+        this.shutdownTimeout = shutdownTimeout;
+        this.flushTimer = Timer.builder("inventory.write_behind.flush")
+                .description("Time taken to write buffered quantity deltas to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.write_behind.rejected")
+                .description("Buffered deltas rejected by the database because stock would go negative")
+                .register(meterRegistry);
+        Gauge.builder("inventory.write_behind.pending.products", dirty, Set::size)
+                .description("Products with unflushed quantity deltas")
+                .register(meterRegistry);
+        Gauge.builder("inventory.write_behind.pending.changes", pendingChanges, AtomicInteger::get)
+                .description("Quantity changes accepted since the last flush")
+                .register(meterRegistry);
+
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("write-behind-flush").factory());
+            long intervalNanos = flushInterval.toNanos();
+            this.flusher.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    /**
+     * Accepts a relative quantity change without touching the database, unless this is the first
+     * change seen for the product.
+     */
+    public ProductResponse adjust(UUID id, int delta) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            ProductResponse product = productRepository.findById(id)
+                    .map(ProductChangedEvent::snapshot)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+            Entry loaded = new Entry(product);
+            entry = entries.putIfAbsent(id, loaded);
+            if (entry == null) {
+                entry = loaded;
+            }
+        }
+
+        if (entry.isStale()) {
+            reload(id, entry);
+        }
+
+        ProductResponse adjusted = entry.adjust(delta);
+        if (adjusted == null) {
+            throw delta > 0
+                    ? new QuantityOutOfRangeException("Adjusting product " + id + " by " + delta
+                            + " would exceed the maximum quantity")
+                    : new InsufficientStockException("Insufficient stock to adjust product " + id + " by " + delta);
+        }
+        dirty.add(id);
+        eventPublisher.publishEvent(new QuantityBufferedEvent(id, delta));
+
+        if (pendingChanges.incrementAndGet() == maxPendingChanges && flusher != null) {
+            flusher.execute(this::flushQuietly);
+        }
+        return adjusted;
+    }
+
+    /**
+     * Returns the product with any pending delta applied, or the product itself if nothing is buffered for it.
+     */
+    public ProductResponse overlay(ProductResponse product) {
+        Entry entry = entries.get(product.id());
+        return entry == null ? product : new ProductResponse(
+                product.id(), product.name(), entry.visible(), product.price());
+    }
+
+    /**
+     * Quantity readers currently see for the product, or {@code null} if nothing is buffered for it.
+     */
+    public Integer visibleQuantity(UUID id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.visible();
+    }
+
+    /**
+     * Called when a product's quantity is set to an absolute value; deltas buffered before it are superseded.
+     */
+    public void overwrite(UUID id, int quantity) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            entry.overwrite(quantity);
+        }
+    }
+
+    /**
+     * Settles the deltas carried by this buffer's own flush, or marks the entry stale for a change committed
+     * elsewhere, whose quantity may already have been superseded by the time its event arrives.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> {
+                Entry entry = entries.get(event.productId());
+                if (entry != null) {
+                    entry.committed(event);
+                }
+            }
+            case DELETED -> forget(event.productId());
+            case CREATED -> {
+            }
+        }
+    }
+
+    /**
+     * Reloads the committed quantity of every buffered product, since changes committed elsewhere may have been
+     * missed. Holding the buffer's monitor keeps a flush from committing in between; deltas not yet written are
+     * kept on top of the reloaded quantities.
+     */
+    @EventListener
+    @Order(0)
+    public synchronized void onResync(ProductResyncEvent event) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(entries.keySet());
+        for (Product product : productRepository.findAllById(entries.keySet())) {
+            missing.remove(product.getId());
+            Entry entry = entries.get(product.getId());
+            if (entry != null) {
+                entry.reload(ProductChangedEvent.snapshot(product), entry.generation());
+            }
+        }
+        missing.forEach(this::forget);
+    }
+
+    /**
+     * Rereads the committed quantity of a stale entry. Holding the buffer's monitor keeps a flush from being in
+     * progress, so the row carries no in-flight deltas; the entry stays stale if another change arrives meanwhile.
+     */
+    private synchronized void reload(UUID id, Entry entry) {
+        long generation = entry.generation();
+        Product product = productRepository.findById(id).orElseThrow(() -> {
+            forget(id);
+            return new ProductNotFoundException("Product not found with id: " + id);
+        });
+        entry.reload(ProductChangedEvent.snapshot(product), generation);
+    }
+
+    public void forget(UUID id) {
+        entries.remove(id);
+        dirty.remove(id);
+    }
+
+    /**
+     * Writes all buffered deltas to the database in one statement. Deltas the database rejects are
+     * reverted from the visible quantity and reported; deltas lost to a failed flush are put back for the next one.
+     */
+    public synchronized void flush() {
+        pendingChanges.set(0);
+        Map<UUID, Integer> deltas = new HashMap<>();
+        for (UUID id : dirty) {
+            dirty.remove(id);
+            Entry entry = entries.get(id);
+            long delta = entry == null ? 0 : entry.drain();
+            if (delta != 0) {
+                deltas.put(id, (int) delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            List<ProductChangedEvent> applied = flushTransaction.execute(status -> {
+                List<ProductChangedEvent> events = new ArrayList<>();
+                for (ProductResponse after : productRepository.applyQuantityDeltas(deltas)) {
+                    ProductResponse before = new ProductResponse(
+                            after.id(), after.name(), after.quantity() - deltas.get(after.id()), after.price());
+                    ProductChangedEvent event = new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, before, after);
+                    Entry entry = entries.get(after.id());
+                    if (entry != null) {
+                        entry.flushing(event);
+                    }
+                    eventPublisher.publishEvent(event);
+                    events.add(event);
+                }
+                return events;
+            });
+            Map<UUID, Integer> rejected = new HashMap<>(deltas);
+            for (ProductChangedEvent event : applied) {
+                rejected.remove(event.productId());
+                Entry entry = entries.get(event.productId());
+                if (entry != null) {
+                    entry.flushed(event);
+                }
+            }
+            rejected.forEach(this::reject);
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind flush of {} products failed, retrying on next flush", deltas.size(), ex);
+            deltas.forEach((id, delta) -> {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entry.retry();
+                    dirty.add(id);
+                }
+            });
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        closed = true;
+        flusher.shutdown();
+        try {
+            CompletableFuture.runAsync(this::flush)
+                    .get(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.error("Write-behind buffer did not flush within {}, {} products have unwritten deltas",
+                    shutdownTimeout, dirty.size());
+        } catch (Exception ex) {
+            log.error("Final write-behind flush failed, {} products have unwritten deltas", dirty.size(), ex);
+        }
+    }
+
+    private void reject(UUID id, int delta) {
+        rejectedCounter.increment();
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            entry.rejected();
+        }
+        log.error("Buffered delta {} for product {} was rejected by the database after being acknowledged", delta, id);
+        eventPublisher.publishEvent(new QuantityDeltaRejectedEvent(id, delta));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Write-behind flush failed", ex);
+        }
+    }
+
+    /**
+     * Quantity state of one product. The visible quantity is the committed one plus the deltas drained into the
+     * flush in progress plus the deltas accepted since; every transition holds the entry's monitor, so readers
+     * never see a delta counted twice or not at all.
+     */
+    private static final class Entry {
+        private ProductResponse product;
+        private long committed;
+        private long inFlight;
+        private long pending;
+        private ProductChangedEvent flushEvent;
+        private long generation;
+        private boolean stale;
+
+        private Entry(ProductResponse product) {
+            this.product = product;
+            this.committed = product.quantity();
+        }
+
+        synchronized int visible() {
+            return (int) (committed + inFlight + pending);
+        }
+
+        /**
+         * Accepts the delta and returns the product as it is now visible, or {@code null} if it would go negative
+         * or past the largest {@code int}.
+         */
+        synchronized ProductResponse adjust(int delta) {
+            long adjusted = committed + inFlight + pending + delta;
+            if (adjusted < 0 || adjusted > Integer.MAX_VALUE) {
+                return null;
+            }
+            pending += delta;
+            return new ProductResponse(product.id(), product.name(), (int) adjusted, product.price());
+        }
+
+        synchronized long drain() {
+            long drained = pending;
+            inFlight += drained;
+            pending = 0;
+            return drained;
+        }
+
+        synchronized void flushing(ProductChangedEvent event) {
+            flushEvent = event;
+        }
+
+        /**
+         * Settles the flush that published {@code event}, unless its commit has already been applied.
+         */
+        synchronized void flushed(ProductChangedEvent event) {
+            if (flushEvent == event) {
+                committed(event);
+            }
+        }
+
+        synchronized void committed(ProductChangedEvent event) {
+            if (flushEvent == event) {
+                inFlight = 0;
+                flushEvent = null;
+            } else {
+                generation++;
+                stale = true;
+            }
+            product = event.after();
+            committed = event.after().quantity();
+        }
+
+        synchronized boolean isStale() {
+            return stale;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        /**
+         * Installs a quantity read from the database, clearing the stale mark unless a change arrived after
+         * {@code generation} was read.
+         */
+        synchronized void reload(ProductResponse product, long generation) {
+            this.product = product;
+            committed = product.quantity();
+            if (this.generation == generation) {
+                stale = false;
+            }
+        }
+
+        synchronized void rejected() {
+            inFlight = 0;
+        }
+
+        synchronized void retry() {
+            pending += inFlight;
+            inFlight = 0;
+            flushEvent = null;
+        }
+
+        synchronized void overwrite(int quantity) {
+            committed = quantity;
+            pending = 0;
+        }
+    }
+}
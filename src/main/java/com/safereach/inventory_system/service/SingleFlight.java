@@ -0,0 +1,78 @@
+package com.safereach.inventory_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution: the first caller runs the query and every
+ * caller that arrives while it is in flight waits for and shares its result, or its exception. Nothing is kept
+ * once the call completes, so a caller never sees a result computed before some other call for its key
+ * finished.
+ * <p>
+ * Calls are counted as {@code inventory.coalescing.calls} tagged with {@code query} and a {@code result} of
+ * {@code executed} or {@code shared}; the share of {@code shared} calls is the coalescing ratio.
+ */
+public final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter sharedCounter;
+
+    public SingleFlight(String query, MeterRegistry meterRegistry) {
+        this.executedCounter = calls(meterRegistry, query, "executed");
+        this.sharedCounter = calls(meterRegistry, query, "shared");
+        Gauge.builder("inventory.coalescing.in_flight", inFlight, Map::size)
+                .description("Distinct keys with a query currently in flight")
+                .tag("query", query)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Function<? super K, ? extends V> query) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            sharedCounter.increment();
+            return await(running);
+        }
+
+        executedCounter.increment();
+        try {
+            V result = query.apply(key);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String query, String result) {
+        return Counter.builder("inventory.coalescing.calls")
+                .description("Read queries requested, by whether they ran or shared a concurrent identical call")
+                .tag("query", query)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,322 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.entity.UuidV7Generator;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityBufferedEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.ReservationNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Short-lived holds on product stock for checkout. A hold takes units from an in-memory
+ * {@link StripedAvailability} per product, so reserving costs no database round trip once the product's stock
+ * has been loaded. Confirming applies the decrement through {@link ProductService#adjustProductQuantity}, so it
+ * takes the same path as any other quantity adjustment in every mode, and a hold that is neither confirmed nor
+ * released within {@code inventory.reservations.ttl} is returned by an {@link ExpiryTimerWheel}.
+ * <p>
+ * Availability starts from the product's quantity when its first hold is placed and follows committed
+ * changes by their delta. While a product has deltas in the {@link QuantityWriteBehindBuffer}, it follows the
+ * quantity the buffer shows instead, which runs ahead of the database between flushes. Once a product has no
+ * holds left its counters are dropped, so the next hold reloads the quantity and any drift does not outlive the
+ * burst. A {@link ProductResyncEvent} reloads the quantities of products with live counters. The decrement on
+ * confirmation remains the final guard: a confirmation never takes stock below zero.
+ */
+@Slf4j
+@Service
+@Timed("inventory.service")
+public class StockReservationService {
+    private static final int ACTIVE = 0;
+    private static final int SETTLED = 1;
+
+    private final ProductService productService;
+    private final QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+    private final Duration ttl;
+    private final int stripes;
+
+    private final Map<UUID, ProductHolds> products = new ConcurrentHashMap<>();
+    private final Map<UUID, Hold> holds = new ConcurrentHashMap<>();
+    private final ExpiryTimerWheel<Hold> expiryWheel;
+    private final ScheduledExecutorService ticker;
+    private final Counter reservedCounter;
+    private final Counter rejectedCounter;
+    private final Counter confirmedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    public StockReservationService(ProductService productService,
+                                   QuantityWriteBehindBuffer quantityWriteBehindBuffer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${inventory.reservations.ttl:PT2M}") Duration ttl,
+                                   @Value("${inventory.reservations.stripes:16}") int stripes,
+                                   @Value("${inventory.reservations.tick:PT0.1S}") Duration tick,
+                                   @Value("${inventory.reservations.wheel-size:2048}") int wheelSize) {
+        if (ttl.compareTo(tick.multipliedBy(2)) < 0) {
+            throw new IllegalArgumentException("Reservation TTL " + ttl + " must span at least two ticks of " + tick);
+        }
+        this.productService = productService;
+        this.quantityWriteBehindBuffer = quantityWriteBehindBuffer;
+        this.ttl = ttl;
+        this.stripes = stripes;
+        this.expiryWheel = new ExpiryTimerWheel<>(wheelSize, tick.toNanos(), System.nanoTime(), this::expire);
+
+        this.reservedCounter = outcome(meterRegistry, "reserved");
+        this.rejectedCounter = outcome(meterRegistry, "rejected");
+        this.confirmedCounter = outcome(meterRegistry, "confirmed");
+        this.releasedCounter = outcome(meterRegistry, "released");
+        this.expiredCounter = outcome(meterRegistry, "expired");
+        Gauge.builder("inventory.reservations.active", holds, Map::size)
+                .description("Holds placed and not yet confirmed, released or expired")
+                .register(meterRegistry);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("reservation-expiry").factory());
+        long tickNanos = tick.toNanos();
+        this.ticker.scheduleAtFixedRate(this::advanceQuietly, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public ReservationResponse reserve(UUID productId, int quantity) {
+        ProductHolds product = join(productId);
+        if (!product.available.tryAcquire(quantity)) {
+            leave(productId, product);
+            rejectedCounter.increment();
+            throw new InsufficientStockException("Insufficient stock to reserve " + quantity + " of product " + productId);
+        }
+
+        long deadline = System.nanoTime() + ttl.toNanos();
+        Hold hold = new Hold(UuidV7Generator.next(), productId, quantity, Instant.now().plus(ttl), product);
+        holds.put(hold.id, hold);
+        hold.timeout = expiryWheel.schedule(hold, deadline);
+        reservedCounter.increment();
+        return hold.toResponse();
+    }
+
+    /**
+     * Turns the hold into a real decrement of the product's quantity.
+     */
+    public ProductResponse confirm(UUID productId, UUID reservationId) {
+        Hold hold = settle(productId, reservationId);
+        ProductResponse adjusted;
+        try {
+            adjusted = productService.adjustProductQuantity(productId, -hold.quantity);
+        } finally {
+            // The decrement has already been netted out of availability by the change listeners, on top of the
+            // units this hold took; hand those back so the decrement counts once.
+            hold.product.available.release(hold.quantity);
+            leave(productId, hold.product);
+        }
+        confirmedCounter.increment();
+        return adjusted;
+    }
+
+    public void release(UUID productId, UUID reservationId) {
+        Hold hold = settle(productId, reservationId);
+        hold.product.available.release(hold.quantity);
+        leave(productId, hold.product);
+        releasedCounter.increment();
+    }
+
+    /**
+     * Units currently available for new holds, or {@code null} if the product has no counters loaded.
+     */
+    public Long available(UUID productId) {
+        ProductHolds product = products.get(productId);
+        return product == null ? null : product.available.available();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED -> {
+                ProductHolds product = products.get(event.productId());
+                if (product != null) {
+                    follow(event.productId(), product, (long) event.after().quantity() - event.before().quantity());
+                }
+            }
+            case DELETED -> products.remove(event.productId());
+            case CREATED -> {
+            }
+        }
+    }
+
+    @EventListener
+    public void onQuantityBuffered(QuantityBufferedEvent event) {
+        ProductHolds product = products.get(event.productId());
+        if (product != null) {
+            follow(event.productId(), product, event.delta());
+        }
+    }
+
+    @EventListener
+    public void onQuantityDeltaRejected(QuantityDeltaRejectedEvent event) {
+        ProductHolds product = products.get(event.productId());
+        if (product != null) {
+            follow(event.productId(), product, -event.delta());
+        }
+    }
+
+    /**
+     * Reloads the quantity of every product with live counters, since changes may have been missed. Runs after
+     * the product cache and the write-behind buffer have been refreshed.
+     */
+    @EventListener
+    public void onResync(ProductResyncEvent event) {
+        products.forEach((id, product) -> {
+            try {
+                long quantity = productService.getProductById(id).quantity();
+                synchronized (product) {
+                    product.moveTo(quantity);
+                }
+            } catch (ProductNotFoundException ex) {
+                products.remove(id, product);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Moves the product's availability with a change to its quantity. While the write-behind buffer holds
+     * deltas for the product, the quantity it shows is authoritative and {@code delta} is ignored: commits of
+     * already-buffered deltas do not move it, and signals applied in any order still land on the same value.
+     */
+    private void follow(UUID productId, ProductHolds product, long delta) {
+        synchronized (product) {
+            Integer buffered = quantityWriteBehindBuffer.visibleQuantity(productId);
+            product.moveTo(buffered != null ? buffered : product.quantity + delta);
+        }
+    }
+
+    /**
+     * Registers a pending hold on the product, loading its counters if none are live. The quantity is read before
+     * the entry is offered to the map, so the lookup never runs while a map bin is locked. Counters are retired by
+     * swapping the hold count from zero to -1, so a joiner either sees a live entry or retries with a new one.
+     */
+    private ProductHolds join(UUID productId) {
+        while (true) {
+            ProductHolds product = products.get(productId);
+            if (product == null) {
+                ProductHolds loaded = new ProductHolds(stripes, productService.getProductById(productId).quantity());
+                product = products.putIfAbsent(productId, loaded);
+                if (product == null) {
+                    product = loaded;
+                }
+            }
+            int count;
+            while ((count = product.holds.get()) >= 0) {
+                if (product.holds.compareAndSet(count, count + 1)) {
+                    return product;
+                }
+            }
+            products.remove(productId, product);
+        }
+    }
+
+    private void leave(UUID productId, ProductHolds product) {
+        if (product.holds.decrementAndGet() == 0 && product.holds.compareAndSet(0, -1)) {
+            products.remove(productId, product);
+        }
+    }
+
+    private Hold settle(UUID productId, UUID reservationId) {
+        Hold hold = holds.get(reservationId);
+        if (hold == null || !hold.productId.equals(productId) || !hold.state.compareAndSet(ACTIVE, SETTLED)) {
+            throw new ReservationNotFoundException(
+                    "Reservation " + reservationId + " for product " + productId + " not found or no longer active");
+        }
+        holds.remove(reservationId);
+        ExpiryTimerWheel.Timeout<Hold> timeout = hold.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return hold;
+    }
+
+    private void expire(Hold hold) {
+        if (hold.state.compareAndSet(ACTIVE, SETTLED)) {
+            holds.remove(hold.id);
+            hold.product.available.release(hold.quantity);
+            leave(hold.productId, hold.product);
+            expiredCounter.increment();
+        }
+    }
+
+    private void advanceQuietly() {
+        try {
+            expiryWheel.advance(System.nanoTime());
+        } catch (RuntimeException ex) {
+            log.error("Reservation expiry tick failed", ex);
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("inventory.reservations")
+                .description("Reservation operations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class ProductHolds {
+        private final StripedAvailability available;
+        private final AtomicInteger holds = new AtomicInteger();
+        // quantity availability was last moved to; guarded by this
+        private long quantity;
+
+        ProductHolds(int stripes, int quantity) {
+            this.available = new StripedAvailability(stripes, quantity);
+            this.quantity = quantity;
+        }
+
+        void moveTo(long quantity) {
+            available.adjust(quantity - this.quantity);
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class Hold {
+        private final UUID id;
+        private final UUID productId;
+        private final int quantity;
+        private final Instant expiresAt;
+        private final ProductHolds product;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        private volatile ExpiryTimerWheel.Timeout<Hold> timeout;
+
+        Hold(UUID id, UUID productId, int quantity, Instant expiresAt, ProductHolds product) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+            this.product = product;
+        }
+
+        ReservationResponse toResponse() {
+            return new ReservationResponse(id, productId, quantity, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.safereach.inventory_system.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count of units available for reservation, split across cache-line padded stripes so concurrent reservers
+ * of the same product rarely touch the same counter.
+ * <p>
+ * Every unit lives in exactly one stripe, so a successful take can never oversell. A reserver first tries
+ * its own stripe with a CAS. If that stripe cannot cover the request, it takes the lock, drains all stripes
+ * and decides on the exact total, then spreads the remainder back. While a drain is in progress, fast paths
+ * see empty stripes and queue on the lock behind it, so a take only fails when the total is really short.
+ */
+final class StripedAvailability {
+    /** Longs per stripe, so that each counter sits on its own 64-byte cache line. */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    StripedAvailability(int stripes, long initial) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        spread(initial, 0);
+    }
+
+    boolean tryAcquire(long units) {
+        int home = home();
+        long current;
+        while ((current = cells.get(home)) >= units) {
+            if (cells.compareAndSet(home, current, current - units)) {
+                return true;
+            }
+        }
+        lock.lock();
+        try {
+            long total = drain();
+            boolean acquired = total >= units;
+            spread(acquired ? total - units : total, home);
+            return acquired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long units) {
+        cells.getAndAdd(home(), units);
+    }
+
+    /**
+     * Applies a change in stock made outside reservations. Negative adjustments go through the lock so that
+     * the shortfall is netted against every stripe instead of leaving other stripes overstated.
+     */
+    void adjust(long delta) {
+        if (delta >= 0) {
+            release(delta);
+            return;
+        }
+        lock.lock();
+        try {
+            spread(drain() + delta, home());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sum of all stripes. Only a snapshot; units may move between stripes while it is read.
+     */
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private long drain() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Adds {@code units} back across the stripes, the remainder (or a deficit) to {@code home}. Adds rather than
+     * sets, so releases that land on a drained stripe meanwhile are kept.
+     */
+    private void spread(long units, int home) {
+        if (units > 0) {
+            long share = units / stripes;
+            if (share > 0) {
+                for (int i = 0; i < stripes; i++) {
+                    cells.getAndAdd(i * PADDING, share);
+                }
+            }
+            units -= share * stripes;
+        }
+        if (units != 0) {
+            cells.getAndAdd(home, units);
+        }
+    }
+
+    private int home() {
+        long hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) & (stripes - 1)) * PADDING;
+    }
+}
@@ -0,0 +1,37 @@
+package com.safereach.inventory_system.wire;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Compact column-wise binary encoding of {@link com.safereach.inventory_system.dto.ProductResponse} lists,
+ * offered next to JSON on the bulk read endpoints.
+ * <p>
+ * A stream starts with the magic bytes {@code PCOL} and a version byte, followed by blocks of rows and an
+ * empty block that marks the end. Each block is laid out as:
+ * <pre>
+ * varint   rows
+ * 16 bytes id                  x rows   (most then least significant bits, big-endian)
+ * zigzag   quantity            x rows
+ * byte     price scale
+ * zigzag   price unscaled      x rows   (all prices of the block at the block's scale)
+ * varint   name length         x rows   (UTF-8 bytes)
+ * bytes    names, concatenated
+ * </pre>
+ * Varints are unsigned LEB128; signed values are zigzag encoded first. Blocks let the export endpoint stream
+ * the catalog in constant memory; a page or search result is written as a single block.
+ */
+public final class ProductColumns {
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.inventory.product-columns";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * Carries {@code Page.getTotalElements()} for listings, which the body itself does not encode.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    static final byte[] MAGIC = {'P', 'C', 'O', 'L'};
+    static final byte VERSION = 1;
+
+    private ProductColumns() {
+    }
+}
@@ -0,0 +1,165 @@
+package com.safereach.inventory_system.wire;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Client-side reader for the {@link ProductColumns} format. {@link #readBlock()} returns one block at a time,
+ * so a streamed export can be consumed without holding the whole catalog in memory.
+ */
+public final class ProductColumnsDecoder {
+    private final InputStream in;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    public ProductColumnsDecoder(InputStream in) throws IOException {
+        this(in, new byte[64 * 1024], 0);
+    }
+
+    private ProductColumnsDecoder(InputStream in, byte[] buffer, int limit) throws IOException {
+        this.in = in;
+        this.buffer = buffer;
+        this.limit = limit;
+        require(ProductColumns.MAGIC.length + 1);
+        if (!Arrays.equals(buffer, 0, ProductColumns.MAGIC.length, ProductColumns.MAGIC, 0, ProductColumns.MAGIC.length)) {
+            throw new IOException("Not a product columns stream");
+        }
+        position = ProductColumns.MAGIC.length;
+        int version = this.buffer[position++];
+        if (version != ProductColumns.VERSION) {
+            throw new IOException("Unsupported product columns version: " + version);
+        }
+    }
+
+    public static List<ProductResponse> decode(InputStream in) throws IOException {
+        return readAll(new ProductColumnsDecoder(in));
+    }
+
+    /**
+     * Decodes an already received body in place, without copying it into a read buffer.
+     */
+    public static List<ProductResponse> decode(byte[] bytes) throws IOException {
+        return readAll(new ProductColumnsDecoder(null, bytes, bytes.length));
+    }
+
+    private static List<ProductResponse> readAll(ProductColumnsDecoder decoder) throws IOException {
+        List<ProductResponse> products = new ArrayList<>();
+        List<ProductResponse> block;
+        while ((block = decoder.readBlock()) != null) {
+            products.addAll(block);
+        }
+        return products;
+    }
+
+    /**
+     * Returns the next block of products, or {@code null} once the end marker has been read.
+     */
+    public List<ProductResponse> readBlock() throws IOException {
+        if (finished) {
+            return null;
+        }
+        long count = readVarLong();
+        if (count == 0) {
+            finished = true;
+            return null;
+        }
+        if (count > Integer.MAX_VALUE / 16) {
+            throw new IOException("Block too large: " + count);
+        }
+        int rows = (int) count;
+
+        UUID[] ids = new UUID[rows];
+        require(rows * 16);
+        for (int i = 0; i < rows; i++) {
+            ids[i] = new UUID(readLong(), readLong());
+        }
+
+        int[] quantities = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            quantities[i] = Math.toIntExact(unzigzag(readVarLong()));
+        }
+
+        require(1);
+        int scale = buffer[position++] & 0xFF;
+        BigDecimal[] prices = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            prices[i] = BigDecimal.valueOf(unzigzag(readVarLong()), scale);
+        }
+
+        int[] nameLengths = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            nameLengths[i] = Math.toIntExact(readVarLong());
+        }
+
+        List<ProductResponse> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            require(nameLengths[i]);
+            String name = new String(buffer, position, nameLengths[i], StandardCharsets.UTF_8);
+            position += nameLengths[i];
+            products.add(new ProductResponse(ids[i], name, quantities[i], prices[i]));
+        }
+        return products;
+    }
+
+    /**
+     * Makes at least {@code bytes} unread bytes available in the buffer, compacting and growing it as needed.
+     */
+    private void require(int bytes) throws IOException {
+        if (limit - position >= bytes) {
+            return;
+        }
+        if (in == null) {
+            throw new EOFException("Truncated product columns stream");
+        }
+        if (bytes > buffer.length - position) {
+            byte[] target = bytes > buffer.length ? new byte[Math.max(bytes, buffer.length * 2)] : buffer;
+            System.arraycopy(buffer, position, target, 0, limit - position);
+            buffer = target;
+            limit -= position;
+            position = 0;
+        }
+        while (limit - position < bytes) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                throw new EOFException("Truncated product columns stream");
+            }
+            limit += read;
+        }
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            int b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in product columns stream");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
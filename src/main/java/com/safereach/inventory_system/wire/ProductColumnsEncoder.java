@@ -0,0 +1,149 @@
+package com.safereach.inventory_system.wire;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writes products in the {@link ProductColumns} format. Rows are buffered until a block is full and each block
+ * is assembled in memory and handed to the stream in a single write, so memory stays bounded by the block
+ * size however many rows are written.
+ * <p>
+ * {@link #finish()} must be called once after the last row; it does not close the underlying stream.
+ */
+public final class ProductColumnsEncoder {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final OutputStream out;
+    private final ProductResponse[] block;
+    private final byte[][] names;
+    private int rows;
+    private byte[] buffer;
+    private int length;
+
+    public ProductColumnsEncoder(OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ProductColumnsEncoder(OutputStream out, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.out = out;
+        this.block = new ProductResponse[blockSize];
+        this.names = new byte[blockSize][];
+        this.buffer = new byte[Math.min(blockSize, DEFAULT_BLOCK_SIZE) * 48];
+        System.arraycopy(ProductColumns.MAGIC, 0, buffer, 0, ProductColumns.MAGIC.length);
+        buffer[ProductColumns.MAGIC.length] = ProductColumns.VERSION;
+        length = ProductColumns.MAGIC.length + 1;
+    }
+
+    public static byte[] encode(Collection<? extends ProductResponse> products) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + products.size() * 40);
+        ProductColumnsEncoder encoder = new ProductColumnsEncoder(out, Math.max(1, products.size()));
+        try {
+            encoder.writeAll(products);
+            encoder.finish();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    public void write(ProductResponse product) throws IOException {
+        block[rows++] = product;
+        if (rows == block.length) {
+            writeBlock();
+        }
+    }
+
+    public void writeAll(Collection<? extends ProductResponse> products) throws IOException {
+        for (ProductResponse product : products) {
+            write(product);
+        }
+    }
+
+    /**
+     * Writes any buffered rows and the end marker, then flushes.
+     */
+    public void finish() throws IOException {
+        if (rows > 0) {
+            writeBlock();
+        }
+        ensureCapacity(1);
+        buffer[length++] = 0;
+        out.write(buffer, 0, length);
+        length = 0;
+        out.flush();
+    }
+
+    private void writeBlock() throws IOException {
+        int nameBytes = 0;
+        int scale = 0;
+        for (int i = 0; i < rows; i++) {
+            names[i] = block[i].name().getBytes(StandardCharsets.UTF_8);
+            nameBytes += names[i].length;
+            scale = Math.max(scale, block[i].price().scale());
+        }
+        // ids, then worst-case varints for row count, quantities, prices and name lengths
+        ensureCapacity(10 + rows * (16 + 5 + 10 + 5) + 1 + nameBytes);
+
+        writeVarLong(rows);
+        for (int i = 0; i < rows; i++) {
+            UUID id = block[i].id();
+            writeLong(id.getMostSignificantBits());
+            writeLong(id.getLeastSignificantBits());
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(block[i].quantity()));
+        }
+        buffer[length++] = (byte) scale;
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(block[i].price().setScale(scale).unscaledValue().longValueExact()));
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(names[i].length);
+        }
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(names[i], 0, buffer, length, names[i].length);
+            length += names[i].length;
+            names[i] = null;
+            block[i] = null;
+        }
+        rows = 0;
+
+        out.write(buffer, 0, length);
+        length = 0;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (length + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(length + bytes, buffer.length * 2));
+        }
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
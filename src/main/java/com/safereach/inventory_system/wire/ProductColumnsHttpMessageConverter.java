@@ -0,0 +1,89 @@
+package com.safereach.inventory_system.wire;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes {@code Page<ProductResponse>} and {@code Collection<ProductResponse>} bodies in the
+ * {@link ProductColumns} format, and reads them back as {@code List<ProductResponse>} for REST clients.
+ * Only the page content is encoded; the total element count travels in {@link ProductColumns#TOTAL_COUNT_HEADER}.
+ * <p>
+ * The converter only takes part in negotiation when the declared body type is known, so untyped bodies
+ * (errors, ProblemDetail) always fall through to JSON.
+ */
+public class ProductColumnsHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public ProductColumnsHttpMessageConverter() {
+        super(ProductColumns.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        ResolvableType target = ResolvableType.forType(type);
+        Class<?> raw = target.resolve();
+        return raw != null && raw.isAssignableFrom(List.class) && containsProducts(target) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType source = ResolvableType.forType(type);
+        Class<?> raw = source.resolve();
+        return raw != null
+                && (Page.class.isAssignableFrom(raw) || Collection.class.isAssignableFrom(raw))
+                && containsProducts(source)
+                && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(List.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return ProductColumnsDecoder.decode(inputMessage.getBody());
+        } catch (IOException | ArithmeticException ex) {
+            throw new HttpMessageNotReadableException("Invalid product columns body: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Collection<ProductResponse> products;
+        if (body instanceof Page<?> page) {
+            outputMessage.getHeaders().set(ProductColumns.TOTAL_COUNT_HEADER, Long.toString(page.getTotalElements()));
+            products = (Collection<ProductResponse>) page.getContent();
+        } else {
+            products = (Collection<ProductResponse>) body;
+        }
+        ProductColumnsEncoder encoder = new ProductColumnsEncoder(outputMessage.getBody(), Math.max(1, products.size()));
+        encoder.writeAll(products);
+        encoder.finish();
+    }
+
+    private static boolean containsProducts(ResolvableType type) {
+        Class<?> element = type.as(Iterable.class).getGeneric(0).resolve();
+        return element != null && ProductResponse.class.isAssignableFrom(element);
+    }
+}
@@ -0,0 +1,193 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.ProductBatchService;
+import com.safereach.inventory_system.service.ProductCache;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mixed read/write HTTP load against the application with many more concurrent clients
+ * than there are request threads or database connections. Subclasses select the thread mode, so the
+ * logged throughput and latencies of the two runs can be compared directly.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+abstract class AbstractThreadModeLoadIT {
+    private static final int PRODUCT_COUNT = 1_000;
+    private static final int CLIENTS = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private List<UUID> ids;
+
+    protected abstract String threadMode();
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+        productBatchService.createProducts(IntStream.range(0, PRODUCT_COUNT)
+                .mapToObj(i -> new ProductRequest("Load-" + i, 1_000_000, BigDecimal.valueOf(i + 1)))
+                .toList());
+        ids = productRepository.findAll().stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void mixedReadWriteLoad() throws Exception {
+        run(WARMUP);
+        Result result = run(MEASUREMENT);
+
+        log.info("[{}] {} clients, {} requests in {}: {} req/s, p50={}ms p99={}ms max={}ms, 503={}, errors={}",
+                threadMode(), CLIENTS, result.requests(), MEASUREMENT,
+                result.requests() / MEASUREMENT.toSeconds(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                result.rejected(), result.errors());
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.requests()).isPositive();
+    }
+
+    private Result run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        List<long[]> latencies = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = send(nextRequest());
+                        long elapsed = System.nanoTime() - start;
+                        if (status == 503) {
+                            rejected.incrementAndGet();
+                        } else if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            for (var future : futures) {
+                latencies.add(future.get());
+            }
+        }
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, rejected.get(), errors.get());
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID id = ids.get(random.nextInt(ids.size()));
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return get("/products/" + id);
+        }
+        if (roll < 70) {
+            return get("/products?page=" + random.nextInt(20) + "&size=20&sortBy=price");
+        }
+        if (roll < 80) {
+            return get("/products/search?name=Load-" + random.nextInt(100));
+        }
+        return HttpRequest.newBuilder(uri("/products/" + id + "/quantity/adjust?delta=" + (random.nextBoolean() ? 1 : -1)))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return 599;
+        }
+    }
+
+    private record Result(long[] sortedLatencies, int rejected, int errors) {
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
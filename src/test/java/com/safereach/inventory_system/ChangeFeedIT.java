@@ -0,0 +1,199 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.service.ProductChangeFeed;
+import com.safereach.inventory_system.service.ProductChangeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end behaviour of {@code GET /products/changes}: delivery after commit, resume by Last-Event-ID,
+ * reset when the position is lost, and fan-out to many concurrent subscribers.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"inventory.changes.buffer-size=8", "inventory.changes.heartbeat=PT0.2S"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class ChangeFeedIT {
+    private static final int SUBSCRIBERS = 2_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProductChangeLog changeLog;
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(command -> Thread.ofVirtual().start(command))
+            .build();
+    private final List<InputStream> streams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void givenSubscriber_whenProductCreatedAndAdjusted_thenEventsInCommitOrder() throws Exception {
+        BufferedReader events = subscribe(null);
+
+        ProductResponse product = restTemplate.postForObject("/products",
+                new ProductRequest("Streamed", 5, BigDecimal.ONE), ProductResponse.class);
+        restTemplate.exchange("/products/" + product.id() + "/quantity/adjust?delta=-2", HttpMethod.PATCH, null,
+                ProductResponse.class);
+
+        List<String> first = nextEvent(events);
+        List<String> second = nextEvent(events);
+        assertThat(data(first)).contains("\"type\":\"CREATED\"").contains(product.id().toString());
+        assertThat(data(second)).contains("\"type\":\"UPDATED\"").contains("\"quantity\":3");
+        assertThat(Long.parseLong(id(second))).isEqualTo(Long.parseLong(id(first)) + 1);
+    }
+
+    @Test
+    void givenLastEventId_whenReconnect_thenMissedChangesReplayed() throws Exception {
+        long position = changeLog.head();
+        ProductResponse product = restTemplate.postForObject("/products",
+                new ProductRequest("Replayed", 5, BigDecimal.ONE), ProductResponse.class);
+        restTemplate.delete("/products/" + product.id());
+
+        BufferedReader events = subscribe(position);
+
+        assertThat(data(nextEvent(events))).contains("\"type\":\"CREATED\"");
+        assertThat(data(nextEvent(events))).contains("\"type\":\"DELETED\"");
+    }
+
+    @Test
+    void givenEvictedLastEventId_whenReconnect_thenResetEvent() throws Exception {
+        long position = changeLog.head();
+        for (int i = 0; i < 10; i++) {
+            restTemplate.postForObject("/products", new ProductRequest("Evicted-" + i, 1, BigDecimal.ONE), ProductResponse.class);
+        }
+
+        List<String> event = nextEvent(subscribe(position));
+
+        assertThat(event).contains("event:reset");
+        assertThat(Long.parseLong(id(event))).isEqualTo(changeLog.head());
+    }
+
+    @Test
+    void givenThousandsOfSubscribers_whenProductCreated_thenEverySubscriberReceivesIt() throws Exception {
+        List<CompletableFuture<String>> received = new ArrayList<>();
+        List<BufferedReader> readers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            readers.add(subscribe(null));
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (changeFeed.subscriberCount() < SUBSCRIBERS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(changeFeed.subscriberCount()).isGreaterThanOrEqualTo(SUBSCRIBERS);
+
+        for (BufferedReader reader : readers) {
+            received.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return data(nextEvent(reader));
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }, command -> Thread.ofVirtual().start(command)));
+        }
+        restTemplate.postForObject("/products", new ProductRequest("Fan-out", 1, BigDecimal.ONE), ProductResponse.class);
+
+        CompletableFuture.allOf(received.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        assertThat(received).allSatisfy(event -> assertThat(event.join()).contains("Fan-out"));
+    }
+
+    private BufferedReader subscribe(Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products/changes"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", Long.toString(lastEventId));
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        streams.add(response.body());
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next event, skipping heartbeat comments. Returns its field lines.
+     */
+    private static List<String> nextEvent(BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!fields.isEmpty()) {
+                    return fields;
+                }
+            } else if (!line.startsWith(":")) {
+                fields.add(line);
+            }
+        }
+        throw new IOException("Change stream closed");
+    }
+
+    private static String id(List<String> event) {
+        return field(event, "id:");
+    }
+
+    private static String data(List<String> event) {
+        return field(event, "data:");
+    }
+
+    private static String field(List<String> event, String prefix) {
+        return event.stream()
+                .filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,141 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs on the list, search and summary endpoints: a matching If-None-Match is answered with
+ * 304 before any query runs, and any write makes the previous tag stale.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class ConditionalGetIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private InventorySummaryEngine inventorySummaryEngine;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+        inventorySummaryEngine.reconcile();
+        productNameIndex.rebuild();
+        product = restTemplate.postForObject("/products", new ProductRequest("Tagged", 5, BigDecimal.TEN), ProductResponse.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/products?page=0&size=10", "/products/search?name=tag", "/products/summary"})
+    void givenMatchingEtag_whenGet_thenNotModifiedWithoutStatements(String uri) {
+        ResponseEntity<String> first = restTemplate.getForEntity(uri, String.class);
+        String etag = first.getHeaders().getETag();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(etag).isNotBlank();
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+
+        String template = uri.substring(0, uri.indexOf('?') < 0 ? uri.length() : uri.indexOf('?'));
+        long statements = measure(template, () -> {
+            ResponseEntity<String> second = get(uri, etag);
+            assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(second.getBody()).isNull();
+            assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+        });
+
+        assertThat(statements).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/products?page=0&size=10", "/products/search?name=tag", "/products/summary"})
+    void givenQuantityChanged_whenGetWithOldEtag_thenFullResponseWithNewEtag(String uri) {
+        String etag = restTemplate.getForEntity(uri, String.class).getHeaders().getETag();
+
+        restTemplate.exchange("/products/" + product.id() + "/quantity?quantity=9", HttpMethod.PATCH, null,
+                ProductResponse.class);
+        ResponseEntity<String> after = get(uri, etag);
+
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(after.getBody()).contains("9");
+    }
+
+    private ResponseEntity<String> get(String uri, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private long measure(String uri, Runnable request) {
+        DistributionSummary before = meterRegistry.find("inventory.http.statements")
+                .tag("method", "GET").tag("uri", uri).summary();
+        long countBefore = before == null ? 0 : before.count();
+        double totalBefore = before == null ? 0 : before.totalAmount();
+
+        request.run();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        DistributionSummary after = meterRegistry.find("inventory.http.statements")
+                .tag("method", "GET").tag("uri", uri).summary();
+        while ((after == null || after.count() == countBefore) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            after = meterRegistry.find("inventory.http.statements").tag("method", "GET").tag("uri", uri).summary();
+        }
+        assertThat(after).isNotNull();
+        assertThat(after.count()).isEqualTo(countBefore + 1);
+        return (long) (after.totalAmount() - totalBefore);
+    }
+}
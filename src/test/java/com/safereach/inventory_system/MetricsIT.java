@@ -0,0 +1,125 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.ProductCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class MetricsIT {
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @BeforeEach
+    void cleanup() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+    }
+
+    @Test
+    void whenEndpointsCalled_thenEndpointServiceAndRepositoryTimersHaveHistograms() {
+        ProductResponse created = restTemplate.postForObject("/products",
+                new ProductRequest("Metered", 3, BigDecimal.TEN), ProductResponse.class);
+        restTemplate.getForEntity("/products/" + created.id(), ProductResponse.class);
+        restTemplate.getForEntity("/products/summary", String.class);
+
+        assertHistogram(meterRegistry.get("http.server.requests").tag("uri", "/products/{id}").timer());
+        assertHistogram(meterRegistry.get("inventory.service")
+                .tag("class", "com.safereach.inventory_system.service.ProductService")
+                .tag("method", "createProduct").timer());
+        assertHistogram(meterRegistry.get("spring.data.repository.invocations")
+                .tag("method", "existsByName").timer());
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().count()).isPositive();
+    }
+
+    @Test
+    void whenQueriesRun_thenHibernateStatisticsAreExposed() {
+        double statementsBefore = meterRegistry.get("hibernate.statements").tag("status", "prepared")
+                .functionCounter().count();
+
+        restTemplate.postForObject("/products", new ProductRequest("Counted", 1, BigDecimal.ONE), ProductResponse.class);
+
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count())
+                .isGreaterThan(statementsBefore);
+        assertThat(meterRegistry.get("hibernate.flushes").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("hibernate.entities.loads").functionCounter()).isNotNull();
+    }
+
+    @Test
+    void whenManyProductsRequested_thenNoMeterIsTaggedWithAnId() {
+        for (int i = 0; i < 5; i++) {
+            ProductResponse created = restTemplate.postForObject("/products",
+                    new ProductRequest("Tagless-" + i, i, BigDecimal.ONE), ProductResponse.class);
+            restTemplate.getForEntity("/products/" + created.id(), ProductResponse.class);
+        }
+        restTemplate.getForEntity("/products/" + UUID.randomUUID(), String.class);
+
+        assertThat(meterRegistry.getMeters())
+                .flatMap(meter -> meter.getId().getTags())
+                .extracting(Tag::getValue)
+                .noneMatch(value -> UUID_PATTERN.matcher(value).find());
+    }
+
+    @Test
+    void whenScrapePrometheus_thenHistogramBucketsArePublished() {
+        restTemplate.getForEntity("/products/summary", String.class);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("inventory_service_seconds_bucket")
+                .contains("hibernate_statements_total");
+    }
+
+    private static void assertHistogram(Timer timer) {
+        assertThat(timer.count()).isPositive();
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductBatchResponse;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.ProductBatchService;
+import com.safereach.inventory_system.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares bulk creation against the one-at-a-time path on the same database.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class ProductBatchIT {
+    private static final int PRODUCT_COUNT = 5_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void cleanup() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void whenCreateProductsInBatch_thenConflictsAreReportedAndRestIsCreated() {
+        productService.createProduct(new ProductRequest("existing", 1, BigDecimal.ONE));
+
+        ProductBatchResponse response = productBatchService.createProducts(List.of(
+                new ProductRequest("existing", 1, BigDecimal.ONE),
+                new ProductRequest("fresh", 2, BigDecimal.TEN)));
+
+        assertEquals(1, response.created());
+        assertEquals(1, response.conflicts());
+        assertTrue(productRepository.existsByName("fresh"));
+    }
+
+    @Test
+    void compareBatchThroughputWithOneAtATime() {
+        List<ProductRequest> single = requests("single-");
+        long singleStart = System.nanoTime();
+        single.forEach(productService::createProduct);
+        long singleNanos = System.nanoTime() - singleStart;
+
+        List<ProductRequest> batch = requests("batch-");
+        long batchStart = System.nanoTime();
+        ProductBatchResponse response = productBatchService.createProducts(batch);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        assertEquals(PRODUCT_COUNT, response.created());
+        assertEquals(2L * PRODUCT_COUNT, productRepository.count());
+        log.info("Created {} products: one-at-a-time {} products/s, batch {} products/s",
+                PRODUCT_COUNT, throughput(singleNanos), throughput(batchNanos));
+    }
+
+    private static List<ProductRequest> requests(String prefix) {
+        return IntStream.range(0, PRODUCT_COUNT)
+                .mapToObj(i -> new ProductRequest(prefix + i, i % 100, BigDecimal.valueOf(i % 1000, 2)))
+                .toList();
+    }
+
+    private static long throughput(long nanos) {
+        return PRODUCT_COUNT * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
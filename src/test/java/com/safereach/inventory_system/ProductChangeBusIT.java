@@ -0,0 +1,129 @@
+package com.safereach.inventory_system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The change bus against a real Postgres: local commits are sent on the channel, and changes another instance
+ * sends are applied to this instance's name index and summary without either reading the database.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"inventory.change-bus.enabled=true", "inventory.change-bus.poll-interval=PT0.1S"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class ProductChangeBusIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenListener_whenProductCreated_thenNotifiedAfterCommit() throws Exception {
+        try (Connection connection = postgres.createConnection("")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN product_changes");
+            }
+
+            ProductResponse product = restTemplate.postForObject("/products",
+                    new ProductRequest("Broadcast", 4, BigDecimal.ONE), ProductResponse.class);
+
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(10_000);
+            assertThat(notifications).hasSize(1);
+            assertThat(notifications[0].getParameter())
+                    .contains("\"type\":\"CREATED\"")
+                    .contains(product.id().toString());
+        }
+    }
+
+    @Test
+    void givenBatchOfProducts_whenCreated_thenOneNotificationForTheTransaction() throws Exception {
+        try (Connection connection = postgres.createConnection("")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN product_changes");
+            }
+            List<ProductRequest> requests = IntStream.range(0, 20)
+                    .mapToObj(i -> new ProductRequest("Batched " + i, i, BigDecimal.ONE))
+                    .toList();
+
+            restTemplate.postForEntity("/products/batch", requests, String.class);
+
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(10_000);
+            assertThat(notifications).hasSize(1);
+            assertThat(objectMapper.readTree(notifications[0].getParameter()).get("changes")).hasSize(20);
+        }
+    }
+
+    @Test
+    void givenChangeFromAnotherInstance_whenNotified_thenLocalViewsFollow() throws Exception {
+        long productsBefore = summary().totalProducts();
+        UUID id = UUID.randomUUID();
+        Map<String, Object> after = Map.of("id", id, "name", "Relayed Lamp", "quantity", 7, "price", BigDecimal.TEN);
+        jdbcTemplate.update("INSERT INTO products (id, name, quantity, price) VALUES (?, ?, ?, ?)",
+                id, "Relayed Lamp", 7, BigDecimal.TEN);
+
+        Map<String, Object> change = new HashMap<>();
+        change.put("type", "CREATED");
+        change.put("id", id);
+        change.put("after", after);
+        Map<String, Object> notification = Map.of("origin", UUID.randomUUID(), "resync", false, "changes", List.of(change));
+        jdbcTemplate.queryForList("SELECT pg_notify('product_changes', ?)", objectMapper.writeValueAsString(notification));
+
+        await(() -> summary().totalProducts() == productsBefore + 1);
+        ProductResponse[] suggestions = restTemplate.getForObject("/products/suggest?prefix=relayed", ProductResponse[].class);
+        assertThat(List.of(suggestions)).extracting(ProductResponse::id).containsExactly(id);
+    }
+
+    private ProductSummaryResponse summary() {
+        return restTemplate.getForObject("/products/summary", ProductSummaryResponse.class);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,216 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.config.StatementCountingDataSource;
+import com.safereach.inventory_system.dto.ProductFilter;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.ProductBatchService;
+import com.safereach.inventory_system.service.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks range filters against a catalog large enough for the planner to prefer indexes, and asserts
+ * via EXPLAIN that the listing and count queries Hibernate generates for them, run with the values it
+ * bound, do not fall back to sequential scans.
+ */
+@Testcontainers
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductFilterIT {
+    private static final int PRODUCT_COUNT = 50_000;
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        productRepository.deleteAllInBatch();
+        productBatchService.createProducts(IntStream.range(0, PRODUCT_COUNT)
+                .mapToObj(i -> new ProductRequest("Filter-" + i, i % 100, BigDecimal.valueOf(i % 100_000, 2)))
+                .toList());
+        jdbcTemplate.execute("ANALYZE products");
+    }
+
+    @Test
+    void whenFilterByPriceAndQuantity_thenOnlyMatchingProductsAreReturned() {
+        ProductFilter filter = new ProductFilter(BigDecimal.valueOf(50), BigDecimal.valueOf(200), null, 9);
+
+        Page<ProductResponse> page = productService.getAllProducts(filter,
+                PageRequest.of(0, 50, Sort.by("price", "id")));
+
+        assertThat(page.getContent()).isNotEmpty().allSatisfy(product -> {
+            assertThat(product.price()).isBetween(BigDecimal.valueOf(50), BigDecimal.valueOf(200));
+            assertThat(product.quantity()).isLessThanOrEqualTo(9);
+        });
+        assertThat(page.getContent()).extracting(ProductResponse::price).isSorted();
+    }
+
+    @Test
+    void whenFilterByPriceRange_thenPlanUsesIndex() {
+        assertThat(explainListing(new ProductFilter(BigDecimal.valueOf(50), BigDecimal.valueOf(200), null, 9),
+                Sort.by("price", "id"))).allSatisfy(plan -> assertThat(plan).doesNotContain("Seq Scan"));
+        assertThat(explainListing(new ProductFilter(BigDecimal.valueOf(50), BigDecimal.valueOf(52), null, null),
+                Sort.by("name", "id"))).allSatisfy(plan -> assertThat(plan).doesNotContain("Seq Scan"));
+    }
+
+    @Test
+    void whenFilterByQuantityRange_thenPlanUsesIndex() {
+        assertThat(explainListing(new ProductFilter(null, null, null, 0), Sort.by("quantity", "id")))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain("Seq Scan"));
+        assertThat(explainListing(new ProductFilter(null, null, 3, 4), Sort.by("quantity", "id")))
+                .hasSize(2)
+                .allSatisfy(plan -> assertThat(plan).doesNotContain("Seq Scan"));
+    }
+
+    /**
+     * Lists the first page through the service, then EXPLAINs each statement it prepared with the values it bound.
+     */
+    private List<String> explainListing(ProductFilter filter, Sort sort) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            productService.getAllProducts(filter, PageRequest.of(0, 50, sort));
+        } finally {
+            CAPTURED.remove();
+        }
+        assertThat(statements).isNotEmpty();
+        return statements.stream().map(this::explain).toList();
+    }
+
+    private String explain(CapturedStatement statement) {
+        List<String> plan = jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            return explain;
+        }, (rs, rowNum) -> rs.getString(1));
+        return statement.sql() + "\n" + String.join("\n", plan);
+    }
+
+    private record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Records the SQL and bind values of statements prepared on the test thread while a capture is open.
+     * Ordered so that it wraps the pool before the statement counter does.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturePostProcessor() {
+            return new OrderedPostProcessor();
+        }
+
+        private static final class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capturing(super.getConnection());
+                        }
+                    };
+                }
+                return bean;
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(method, connection, args);
+                        List<CapturedStatement> statements = CAPTURED.get();
+                        if (statements != null && result instanceof PreparedStatement prepared
+                                && method.getName().equals("prepareStatement")) {
+                            CapturedStatement statement = new CapturedStatement((String) args[0], new TreeMap<>());
+                            statements.add(statement);
+                            return recording(prepared, statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement prepared, CapturedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            statement.parameters().put(index, method.getName().equals("setNull") ? null : args[1]);
+                        }
+                        return invoke(method, prepared, args);
+                    });
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
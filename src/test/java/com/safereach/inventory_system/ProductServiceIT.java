@@ -1,9 +1,18 @@
 package com.safereach.inventory_system;
 
+import com.safereach.inventory_system.dto.ProductCursor;
+import com.safereach.inventory_system.dto.ProductCursorPageResponse;
+import com.safereach.inventory_system.dto.ProductFilter;
 import com.safereach.inventory_system.dto.ProductRequest;
 import com.safereach.inventory_system.dto.ProductResponse;
 import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
 import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.repository.ProductSortField;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
 import com.safereach.inventory_system.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -19,6 +29,9 @@ import org.testcontainers.utility.DockerImageName;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,9 +55,22 @@ class ProductServiceIT {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private InventorySummaryEngine inventorySummaryEngine;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Autowired
+    private ProductCache productCache;
+
     @BeforeEach
     void cleanup() {
         productRepository.deleteAll();
+        // deleteAll bypasses ProductService, so resync the in-memory views
+        inventorySummaryEngine.reconcile();
+        productNameIndex.rebuild();
+        productCache.invalidateAll();
     }
 
     private ProductResponse create(String name, int qty, BigDecimal price) {
@@ -61,6 +87,16 @@ class ProductServiceIT {
         assertEquals(5, productRepository.findById(created.id()).get().getQuantity());
     }
 
+    @Test
+    void whenGetProductByIdAfterUpdate_thenCachedValueIsInvalidated() {
+        ProductResponse created = create("Cached", 1, BigDecimal.ONE);
+        assertEquals(1, productService.getProductById(created.id()).quantity());
+
+        productService.updateProductQuantity(created.id(), 4);
+
+        assertEquals(4, productService.getProductById(created.id()).quantity());
+    }
+
     @Test
     void whenSearchByName_thenReturnsMatching() {
         create("Alpha", 1, BigDecimal.ONE);
@@ -71,6 +107,26 @@ class ProductServiceIT {
                 .first().extracting(ProductResponse::name).isEqualTo("Alpha");
     }
 
+    @Test
+    void whenScrollProducts_thenEveryProductIsVisitedOnceInSortOrder() {
+        for (int i = 0; i < 7; i++) {
+            create("Scroll-" + i, i % 3, BigDecimal.valueOf(i % 2));
+        }
+
+        List<ProductResponse> visited = new ArrayList<>();
+        ProductCursor cursor = ProductCursor.first(ProductSortField.QUANTITY, Sort.Direction.DESC);
+        while (cursor != null) {
+            ProductCursorPageResponse page = productService.scrollProducts(ProductFilter.NONE, cursor, 3);
+            visited.addAll(page.content());
+            cursor = page.nextCursor() == null ? null : ProductCursor.decode(page.nextCursor());
+        }
+
+        assertThat(visited).hasSize(7)
+                .extracting(ProductResponse::quantity)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(visited).extracting(ProductResponse::id).doesNotHaveDuplicates();
+    }
+
     @Test
     void whenUpdateQuantity_thenValueChanges() {
         ProductResponse created = create("Gadget", 1, BigDecimal.ONE);
@@ -81,6 +137,21 @@ class ProductServiceIT {
         assertEquals(10, productRepository.findById(created.id()).get().getQuantity());
     }
 
+    @Test
+    void whenAdjustQuantity_thenDeltaIsAppliedAndStockCannotGoNegative() {
+        ProductResponse created = create("Adjustable", 5, BigDecimal.ONE);
+
+        ProductResponse adjusted = productService.adjustProductQuantity(created.id(), -3);
+
+        assertEquals(2, adjusted.quantity());
+        assertEquals(2, productRepository.findById(created.id()).get().getQuantity());
+        assertThrows(InsufficientStockException.class,
+                () -> productService.adjustProductQuantity(created.id(), -3));
+        assertThrows(QuantityOutOfRangeException.class,
+                () -> productService.adjustProductQuantity(created.id(), Integer.MAX_VALUE));
+        assertEquals(2, productRepository.findById(created.id()).get().getQuantity());
+    }
+
     @Test
     void whenDeleteProduct_thenCannotFindIt() {
         ProductResponse created = create("ToDelete", 1, BigDecimal.ONE);
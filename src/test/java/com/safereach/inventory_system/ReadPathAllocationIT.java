@@ -0,0 +1,138 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductFilter;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.repository.ProductSpecifications;
+import com.safereach.inventory_system.service.ProductBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares per-call heap allocation and latency of the previous read path (managed entities in a
+ * read-write transaction, mapped afterwards) with the projection path (constructor expressions in a
+ * read-only transaction) for the same queries.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadPathAllocationIT {
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+    private static final Pageable PAGE = PageRequest.of(2, 100, Sort.by("price", "id"));
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+    private UUID id;
+
+    @BeforeAll
+    void seed() {
+        productRepository.deleteAllInBatch();
+        productBatchService.createProducts(IntStream.range(0, 1_000)
+                .mapToObj(i -> new ProductRequest("Allocation-" + i, i, BigDecimal.valueOf(i + 1)))
+                .toList());
+        readWrite = new TransactionTemplate(transactionManager);
+        id = productRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst().getId();
+    }
+
+    @Test
+    void pageOfProjectionsAllocatesLessThanPageOfEntities() {
+        Measurement entities = measure(() -> readWrite.execute(status ->
+                productRepository.findAll(ProductSpecifications.matching(ProductFilter.NONE), PAGE)
+                        .map(productMapper::toResponse)));
+        Measurement projections = measure(() ->
+                productRepository.findResponses(ProductSpecifications.matching(ProductFilter.NONE), PAGE));
+
+        log.info("Page of 100: entities {}, projections {}", entities, projections);
+        assertThat(projections.bytesPerCall()).isLessThan(entities.bytesPerCall());
+    }
+
+    @Test
+    void projectionByIdAllocatesLessThanEntityById() {
+        Measurement entity = measure(() -> readWrite.execute(status ->
+                productRepository.findById(id).map(productMapper::toResponse)));
+        Measurement projection = measure(() -> productRepository.findResponseById(id));
+
+        log.info("Single product: entity {}, projection {}", entity, projection);
+        assertThat(projection.bytesPerCall()).isLessThan(entity.bytesPerCall());
+    }
+
+    @Test
+    void bothPathsReturnTheSameRows() {
+        List<ProductResponse> entities = readWrite.execute(status ->
+                productRepository.findAll(ProductSpecifications.matching(ProductFilter.NONE), PAGE)
+                        .map(productMapper::toResponse).getContent());
+
+        assertThat(productRepository.findResponses(ProductSpecifications.matching(ProductFilter.NONE), PAGE).getContent())
+                .isEqualTo(entities);
+    }
+
+    private static Measurement measure(Runnable call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Measurement(bytes / ITERATIONS, nanos / ITERATIONS / 1_000);
+    }
+
+    private record Measurement(long bytesPerCall, long microsPerCall) {
+        @Override
+        public String toString() {
+            return bytesPerCall / 1024 + " KiB/call, " + microsPerCall + " µs/call";
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.ProductCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservations under contention against a real database: holds never exceed stock, confirmations land
+ * exactly once, and unconfirmed holds lapse.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"inventory.reservations.ttl=PT1S", "inventory.reservations.tick=PT0.05S"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class ReservationIT {
+    private static final int STOCK = 100;
+    private static final int CUSTOMERS = 1_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+        product = restTemplate.postForObject("/products", new ProductRequest("Limited", STOCK, BigDecimal.TEN), ProductResponse.class);
+    }
+
+    @Test
+    void givenMoreCustomersThanStock_whenReserveAndConfirmConcurrently_thenNoOversell() throws Exception {
+        List<ResponseEntity<ReservationResponse>> reservations;
+        try (ExecutorService customers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ResponseEntity<ReservationResponse>>> futures = IntStream.range(0, CUSTOMERS)
+                    .mapToObj(i -> customers.submit(() -> restTemplate.postForEntity(
+                            "/products/" + product.id() + "/reservations?quantity=1", null, ReservationResponse.class)))
+                    .toList();
+            reservations = futures.stream().map(ReservationIT::join).toList();
+        }
+
+        List<ReservationResponse> granted = reservations.stream()
+                .filter(response -> response.getStatusCode() == HttpStatus.CREATED)
+                .map(ResponseEntity::getBody)
+                .toList();
+        assertThat(granted).hasSize(STOCK);
+        assertThat(reservations).allSatisfy(response ->
+                assertThat(response.getStatusCode()).isIn(HttpStatus.CREATED, HttpStatus.CONFLICT));
+
+        try (ExecutorService customers = Executors.newVirtualThreadPerTaskExecutor()) {
+            granted.forEach(reservation -> customers.submit(() -> restTemplate.postForEntity(
+                    "/products/" + product.id() + "/reservations/" + reservation.id() + "/confirm", null, ProductResponse.class)));
+        }
+
+        assertThat(productRepository.findById(product.id()).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    void givenReleasedHold_whenReserveAgain_thenUnitsAvailable() {
+        ReservationResponse all = restTemplate.postForObject(
+                "/products/" + product.id() + "/reservations?quantity=" + STOCK, null, ReservationResponse.class);
+        assertThat(restTemplate.postForEntity("/products/" + product.id() + "/reservations?quantity=1", null, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        restTemplate.delete("/products/" + product.id() + "/reservations/" + all.id());
+
+        assertThat(restTemplate.postForEntity("/products/" + product.id() + "/reservations?quantity=1", null, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(productRepository.findById(product.id()).orElseThrow().getQuantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void givenUnconfirmedHold_whenTtlElapses_thenConfirmFailsAndStockReturns() throws InterruptedException {
+        ReservationResponse hold = restTemplate.postForObject(
+                "/products/" + product.id() + "/reservations?quantity=" + STOCK, null, ReservationResponse.class);
+
+        Thread.sleep(Duration.ofMillis(1_500));
+
+        ResponseEntity<String> confirm = restTemplate.exchange("/products/" + product.id() + "/reservations/" + hold.id()
+                + "/confirm", HttpMethod.POST, null, String.class);
+        assertThat(confirm.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(restTemplate.postForEntity("/products/" + product.id() + "/reservations?quantity=" + STOCK, null, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    void givenQuantityLoweredElsewhere_whenReserve_thenAvailabilityFollows() {
+        restTemplate.postForObject("/products/" + product.id() + "/reservations?quantity=1", null, ReservationResponse.class);
+        restTemplate.exchange("/products/" + product.id() + "/quantity/adjust?delta=-" + (STOCK - 10), HttpMethod.PATCH, null,
+                ProductResponse.class);
+
+        assertThat(restTemplate.postForEntity("/products/" + product.id() + "/reservations?quantity=10", null, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(restTemplate.postForEntity("/products/" + product.id() + "/reservations?quantity=9", null, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
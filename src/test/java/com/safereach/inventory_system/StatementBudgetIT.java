@@ -0,0 +1,221 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement budgets per endpoint, read from the {@code inventory.http.statements} summary the server
+ * records for each request. A change that adds a round trip to one of these paths fails here. The change bus
+ * is on, as in a multi-instance deployment, so every committed write also pays for its one notification.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "inventory.change-bus.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class StatementBudgetIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private InventorySummaryEngine inventorySummaryEngine;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+        inventorySummaryEngine.reconcile();
+        productNameIndex.rebuild();
+        product = restTemplate.postForObject("/products", new ProductRequest("Budgeted", 5, BigDecimal.TEN), ProductResponse.class);
+        productCache.invalidateAll();
+    }
+
+    @Test
+    void createProduct_atMostTwoStatementsPlusNotification() {
+        long statements = measure("POST", "/products", () -> restTemplate.postForEntity("/products",
+                new ProductRequest("Another", 1, BigDecimal.ONE), ProductResponse.class));
+
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void createProducts_atMostOneQueryPlusOneBatchPerChunkPlusNotification() {
+        List<ProductRequest> requests = IntStream.range(0, 100)
+                .mapToObj(i -> new ProductRequest("Bulk-" + i, i, BigDecimal.ONE))
+                .toList();
+
+        long statements = measure("POST", "/products/batch",
+                () -> restTemplate.postForEntity("/products/batch", requests, String.class));
+
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void getProductById_atMostOneStatementThenCached() {
+        String uri = "/products/" + product.id();
+
+        assertThat(measure("GET", "/products/{id}", () -> restTemplate.getForEntity(uri, ProductResponse.class)))
+                .isLessThanOrEqualTo(1);
+        assertThat(measure("GET", "/products/{id}", () -> restTemplate.getForEntity(uri, ProductResponse.class)))
+                .isZero();
+    }
+
+    @Test
+    void getAllProducts_atMostTwoStatements() {
+        long statements = measure("GET", "/products",
+                () -> restTemplate.getForEntity("/products?page=0&size=10&sortBy=price&maxPrice=100", String.class));
+
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void scrollProducts_atMostOneStatement() {
+        long statements = measure("GET", "/products/scroll",
+                () -> restTemplate.getForEntity("/products/scroll?size=10", String.class));
+
+        assertThat(statements).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void searchProductByName_servedFromIndexWithoutStatements() {
+        long statements = measure("GET", "/products/search",
+                () -> restTemplate.getForEntity("/products/search?name=budget", String.class));
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void updateProductQuantity_atMostTwoStatementsPlusNotification() {
+        long statements = measure("PATCH", "/products/{id}/quantity", () -> restTemplate.exchange(
+                "/products/" + product.id() + "/quantity?quantity=7", HttpMethod.PATCH, null, ProductResponse.class));
+
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void adjustProductQuantity_oneStatementPlusNotification() {
+        long statements = measure("PATCH", "/products/{id}/quantity/adjust", () -> restTemplate.exchange(
+                "/products/" + product.id() + "/quantity/adjust?delta=-2", HttpMethod.PATCH, null, ProductResponse.class));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void adjustProductQuantity_rejectedAtMostTwoStatements() {
+        long statements = measure("PATCH", "/products/{id}/quantity/adjust", () -> restTemplate.exchange(
+                "/products/" + product.id() + "/quantity/adjust?delta=-100", HttpMethod.PATCH, null, String.class));
+
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void deleteProduct_atMostTwoStatementsPlusNotification() {
+        long statements = measure("DELETE", "/products/{id}", () -> restTemplate.exchange(
+                "/products/" + product.id(), HttpMethod.DELETE, null, Void.class));
+
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void reserve_atMostOneStatementThenServedFromMemory() {
+        String uri = "/products/" + product.id() + "/reservations?quantity=1";
+
+        assertThat(measure("POST", "/products/{id}/reservations",
+                () -> restTemplate.postForEntity(uri, null, ReservationResponse.class))).isLessThanOrEqualTo(1);
+        assertThat(measure("POST", "/products/{id}/reservations",
+                () -> restTemplate.postForEntity(uri, null, ReservationResponse.class))).isZero();
+    }
+
+    @Test
+    void confirmReservation_oneStatementPlusNotification() {
+        ReservationResponse reservation = restTemplate.postForObject(
+                "/products/" + product.id() + "/reservations?quantity=2", null, ReservationResponse.class);
+
+        long statements = measure("POST", "/products/{id}/reservations/{reservationId}/confirm",
+                () -> restTemplate.postForEntity("/products/" + product.id() + "/reservations/" + reservation.id()
+                        + "/confirm", null, ProductResponse.class));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void getProductSummary_servedFromMemoryWithoutStatements() {
+        long statements = measure("GET", "/products/summary",
+                () -> restTemplate.getForEntity("/products/summary", String.class));
+
+        assertThat(statements).isZero();
+    }
+
+    /**
+     * Issues exactly one request and returns the statement count the server recorded for it. The count
+     * is recorded as the filter unwinds, which can be just after the client has read the response.
+     */
+    private long measure(String method, String uri, Runnable request) {
+        DistributionSummary before = meterRegistry.find("inventory.http.statements")
+                .tag("method", method).tag("uri", uri).summary();
+        long countBefore = before == null ? 0 : before.count();
+        double totalBefore = before == null ? 0 : before.totalAmount();
+
+        request.run();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        DistributionSummary after = meterRegistry.find("inventory.http.statements")
+                .tag("method", method).tag("uri", uri).summary();
+        while ((after == null || after.count() == countBefore) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            after = meterRegistry.find("inventory.http.statements").tag("method", method).tag("uri", uri).summary();
+        }
+        assertThat(after).isNotNull();
+        assertThat(after.count()).isEqualTo(countBefore + 1);
+        return (long) (after.totalAmount() - totalBefore);
+    }
+}
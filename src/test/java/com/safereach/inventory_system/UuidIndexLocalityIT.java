@@ -0,0 +1,91 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.UuidV7Generator;
+import com.safereach.inventory_system.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares insert time and primary key index size for random (v4) and time-ordered (v7) ids on
+ * otherwise identical tables.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class UuidIndexLocalityIT {
+    private static final int ROWS = 200_000;
+    private static final int BATCH = 1_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void whenProductCreated_thenIdIsVersion7() {
+        ProductResponse product = productService.createProduct(new ProductRequest("Time-ordered", 1, BigDecimal.ONE));
+
+        assertThat(product.id().version()).isEqualTo(7);
+    }
+
+    @Test
+    void compareInsertTimeAndIndexSize() {
+        long randomNanos = load("uuid_random", UUID::randomUUID);
+        long orderedNanos = load("uuid_v7", UuidV7Generator::next);
+        long randomIndexBytes = indexSize("uuid_random");
+        long orderedIndexBytes = indexSize("uuid_v7");
+
+        log.info("{} rows: v4 {} ms, index {} KiB; v7 {} ms, index {} KiB",
+                ROWS, randomNanos / 1_000_000, randomIndexBytes / 1024, orderedNanos / 1_000_000, orderedIndexBytes / 1024);
+
+        assertThat(orderedIndexBytes).isLessThan(randomIndexBytes);
+    }
+
+    private long load(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, name varchar(255) NOT NULL)");
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            int from = offset;
+            List<Object[]> rows = Stream.iterate(from, i -> i + 1).limit(BATCH)
+                    .map(i -> new Object[]{ids.get(), "product-" + i})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, name) VALUES (?, ?)", rows);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long indexSize(String table) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+    }
+}
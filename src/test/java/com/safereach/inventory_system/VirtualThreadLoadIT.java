@@ -0,0 +1,12 @@
+package com.safereach.inventory_system;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadIT extends AbstractThreadModeLoadIT {
+
+    @Override
+    protected String threadMode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,139 @@
+package com.safereach.inventory_system;
+
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.service.InventorySummaryEngine;
+import com.safereach.inventory_system.service.ProductCache;
+import com.safereach.inventory_system.service.ProductNameIndex;
+import com.safereach.inventory_system.wire.ProductColumns;
+import com.safereach.inventory_system.wire.ProductColumnsDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Content negotiation between JSON and the binary {@link ProductColumns} encoding on the bulk read endpoints.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("integration-test")
+class WireFormatIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(
+                    DockerImageName.parse("postgis/postgis:16-3.4-alpine")
+                            .asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private InventorySummaryEngine inventorySummaryEngine;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    private List<ProductResponse> products;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        productCache.invalidateAll();
+        inventorySummaryEngine.reconcile();
+        productNameIndex.rebuild();
+        List<ProductRequest> requests = IntStream.range(0, 25)
+                .mapToObj(i -> new ProductRequest("Wire-" + (char) ('a' + i), i, BigDecimal.valueOf(1000 + i, 2)))
+                .toList();
+        restTemplate.postForEntity("/products/batch", requests, String.class);
+        products = productRepository.findAll().stream()
+                .map(product -> new ProductResponse(product.getId(), product.getName(), product.getQuantity(), product.getPrice()))
+                .sorted(Comparator.comparing(ProductResponse::name))
+                .toList();
+    }
+
+    @Test
+    void givenColumnsAccepted_whenListProducts_thenBinaryPageWithTotalCount() throws IOException {
+        ResponseEntity<byte[]> response = get("/products?page=0&size=10&sortBy=name", ProductColumns.MEDIA_TYPE);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ProductColumns.MEDIA_TYPE);
+        assertThat(response.getHeaders().getFirst(ProductColumns.TOTAL_COUNT_HEADER)).isEqualTo("25");
+        assertThat(ProductColumnsDecoder.decode(response.getBody())).isEqualTo(products.subList(0, 10));
+    }
+
+    @Test
+    void givenColumnsAccepted_whenSearch_thenBinaryList() throws IOException {
+        ResponseEntity<byte[]> response = get("/products/search?name=wire-", ProductColumns.MEDIA_TYPE);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ProductColumns.MEDIA_TYPE);
+        assertThat(ProductColumnsDecoder.decode(response.getBody())).containsExactlyInAnyOrderElementsOf(products);
+    }
+
+    @Test
+    void givenColumnsFormat_whenExport_thenWholeCatalogInBinary() throws IOException {
+        ResponseEntity<byte[]> response = get("/products/export?format=COLUMNS&sortBy=name", MediaType.ALL);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ProductColumns.MEDIA_TYPE);
+        assertThat(ProductColumnsDecoder.decode(response.getBody())).isEqualTo(products);
+    }
+
+    @Test
+    void givenAnyAccepted_whenListProducts_thenJson() {
+        ResponseEntity<byte[]> response = get("/products?page=0&size=10", MediaType.ALL);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void givenColumnsAccepted_whenProductMissing_thenProblemDetailJson() {
+        ResponseEntity<String> response = restTemplate.exchange("/products/" + UUID.randomUUID(), HttpMethod.GET,
+                new HttpEntity<>(accept(ProductColumns.MEDIA_TYPE)), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    private ResponseEntity<byte[]> get(String uri, MediaType accept) {
+        return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(accept(accept)), byte[].class);
+    }
+
+    private static HttpHeaders accept(MediaType mediaType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(mediaType));
+        return headers;
+    }
+}
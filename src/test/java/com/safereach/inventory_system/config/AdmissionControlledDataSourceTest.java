@@ -0,0 +1,94 @@
+package com.safereach.inventory_system.config;
+
+import com.safereach.inventory_system.exception.ConnectionAdmissionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlledDataSourceTest {
+    private DataSource target;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenAllPermitsHeld_whenTimeoutElapses_thenRejectAndCount() throws SQLException {
+        AdmissionControlledDataSource dataSource = admission(1, Duration.ofMillis(50), 10);
+        Connection held = dataSource.getConnection();
+
+        assertThrows(ConnectionAdmissionException.class, dataSource::getConnection);
+        assertEquals(1.0, meterRegistry.get("inventory.db.admission.rejected").counter().count());
+
+        held.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void whenConnectionClosedTwice_thenPermitReleasedOnce() throws SQLException {
+        AdmissionControlledDataSource dataSource = admission(2, Duration.ofMillis(50), 10);
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.getInUse());
+    }
+
+    @Test
+    void givenQueueFull_whenGetConnection_thenRejectImmediately() throws Exception {
+        AdmissionControlledDataSource dataSource = admission(1, Duration.ofSeconds(10), 1);
+        Connection held = dataSource.getConnection();
+        CountDownLatch queued = new CountDownLatch(1);
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            queued.countDown();
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        queued.await();
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThrows(ConnectionAdmissionException.class, dataSource::getConnection);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        held.close();
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void whenTargetFails_thenPermitReturned() throws SQLException {
+        AdmissionControlledDataSource dataSource = admission(1, Duration.ofMillis(50), 10);
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getInUse());
+    }
+
+    private AdmissionControlledDataSource admission(int permits, Duration timeout, int maxQueue) {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, permits, timeout, maxQueue);
+        dataSource.bindTo(meterRegistry);
+        return dataSource;
+    }
+}
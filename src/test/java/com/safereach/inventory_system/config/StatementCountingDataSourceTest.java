@@ -0,0 +1,75 @@
+package com.safereach.inventory_system.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class StatementCountingDataSourceTest {
+    private StatementCountingDataSource dataSource;
+    private PreparedStatement preparedStatement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        dataSource = new StatementCountingDataSource(target);
+    }
+
+    @Test
+    void givenOpenScope_whenStatementsExecuted_thenCountedOncePerExecution() throws SQLException {
+        try (StatementCounter.Scope scope = StatementCounter.open();
+             Connection connection = dataSource.getConnection()) {
+            PreparedStatement insert = connection.prepareStatement("INSERT INTO products VALUES (?)");
+            insert.addBatch();
+            insert.addBatch();
+            insert.executeBatch();
+            connection.createStatement().executeQuery("SELECT 1");
+
+            assertEquals(2, scope.count());
+        }
+        verify(preparedStatement, times(2)).addBatch();
+        assertEquals(2, dataSource.getExecuted());
+    }
+
+    @Test
+    void givenNestedScopes_whenInnerClosed_thenCountAddedToOuter() throws SQLException {
+        try (StatementCounter.Scope outer = StatementCounter.open();
+             Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+            try (StatementCounter.Scope inner = StatementCounter.open()) {
+                connection.createStatement().execute("SELECT 2");
+                assertEquals(1, inner.count());
+            }
+            assertEquals(2, outer.count());
+        }
+    }
+
+    @Test
+    void givenNoScope_whenStatementExecuted_thenOnlyGlobalCounterAdvances() throws SQLException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+
+        assertEquals(1.0, registry.get("inventory.db.statements").functionCounter().count());
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            assertEquals(0, scope.count());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.safereach.inventory_system.dto;
+
+import com.safereach.inventory_system.exception.InvalidCursorException;
+import com.safereach.inventory_system.repository.ProductSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Cable: USB-C", 7, new BigDecimal("19.90"));
+
+    @Test
+    void givenCursorAfterProduct_whenEncodeAndDecode_thenKeysAreTyped() {
+        for (ProductSortField field : ProductSortField.values()) {
+            ProductCursor cursor = ProductCursor.first(field, Sort.Direction.DESC).after(PRODUCT);
+
+            ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+            assertEquals(cursor, decoded);
+            assertEquals(field.valueOf(PRODUCT), decoded.lastValue());
+        }
+    }
+
+    @Test
+    void givenCursor_whenSort_thenIdBreaksTies() {
+        ProductCursor cursor = ProductCursor.first(ProductSortField.PRICE, Sort.Direction.ASC);
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "price", "id"), cursor.sort());
+        assertTrue(cursor.isFirst());
+    }
+
+    @Test
+    void givenTamperedToken_whenDecode_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> ProductCursor.decode("not-a-cursor"));
+    }
+}
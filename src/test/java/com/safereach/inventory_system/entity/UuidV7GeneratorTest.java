@@ -0,0 +1,79 @@
+package com.safereach.inventory_system.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void whenGenerate_thenVersion7WithRfcVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7Generator.timestamp(uuid) >= before);
+        assertTrue(UuidV7Generator.timestamp(uuid) <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void whenGenerateManyInSameMillisecond_thenStrictlyIncreasing() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.next();
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " should sort before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void whenGenerateConcurrently_thenUniqueAndIncreasingPerThread() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+            }
+            all.addAll(ids);
+        }
+        assertEquals(threads * perThread, all.size());
+    }
+
+    @Test
+    void givenRandomUuid_whenTimestamp_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.timestamp(UUID.randomUUID()));
+    }
+
+    /**
+     * Byte-wise order, as PostgreSQL sorts {@code uuid} values.
+     */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,79 @@
+package com.safereach.inventory_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryTimerWheelTest {
+    private static final long TICK = 100;
+
+    private final List<String> expired = new ArrayList<>();
+    private final ExpiryTimerWheel<String> wheel = new ExpiryTimerWheel<>(8, TICK, 0, expired::add);
+
+    @Test
+    void givenScheduledItems_whenAdvance_thenExpireAtFirstTickAfterDeadline() {
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 500);
+
+        wheel.advance(299);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(300);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(499);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(500);
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void givenDeadlineBeyondOneRotation_whenSlotPassedEarly_thenWaitForLaterLap() {
+        wheel.schedule("late", 8 * TICK + 150);
+
+        wheel.advance(8 * TICK);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(9 * TICK + 99);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(10 * TICK);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void givenCancelledItem_whenDeadlinePasses_thenNotExpired() {
+        ExpiryTimerWheel.Timeout<String> timeout = wheel.schedule("cancelled", 200);
+        wheel.schedule("kept", 200);
+
+        assertTrue(timeout.cancel());
+        wheel.advance(300);
+
+        assertEquals(List.of("kept"), expired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void givenExpiredItem_whenCancel_thenFalse() {
+        ExpiryTimerWheel.Timeout<String> timeout = wheel.schedule("expired", 200);
+        wheel.advance(300);
+
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void givenDeadlineAlreadyPassed_whenSchedule_thenExpireOnNextTick() {
+        wheel.advance(500);
+
+        wheel.schedule("overdue", 100);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(600);
+        assertEquals(List.of("overdue"), expired);
+    }
+}
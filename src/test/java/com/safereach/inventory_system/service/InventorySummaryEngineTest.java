@@ -0,0 +1,185 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ProductSummaryResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySummaryEngineTest {
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID PRODUCT_ID_2 = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventorySummaryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InventorySummaryEngine(productRepository, transactionManager);
+    }
+
+    @Test
+    void givenEmptyEngine_whenGetSummary_thenLoadFromRepository() {
+        ProductSummaryResponse.OutOfStockProduct outOfStock =
+                new ProductSummaryResponse.OutOfStockProduct(PRODUCT_ID, "Monitor");
+        when(productRepository.getProductSummary()).thenReturn(projection(2L, 10L, BigDecimal.valueOf(100)));
+        when(productRepository.findByQuantity(0)).thenReturn(List.of(outOfStock));
+
+        ProductSummaryResponse actual = engine.getSummary();
+
+        assertEquals(2L, actual.totalProducts());
+        assertEquals(10L, actual.totalQuantity());
+        assertEquals(BigDecimal.valueOf(50.0), actual.averagePrice());
+        assertEquals(List.of(outOfStock), actual.outOfStockProductList());
+    }
+
+    @Test
+    void givenLoadedEngine_whenProductsChange_thenSummaryIsMaintainedWithoutQueries() {
+        when(productRepository.getProductSummary()).thenReturn(projection(0L, 0L, BigDecimal.ZERO));
+        when(productRepository.findByQuantity(0)).thenReturn(List.of());
+        engine.reconcile();
+
+        ProductResponse monitor = new ProductResponse(PRODUCT_ID, "Monitor", 4, BigDecimal.valueOf(30));
+        ProductResponse mouse = new ProductResponse(PRODUCT_ID_2, "Mouse", 0, BigDecimal.valueOf(10));
+        ProductResponse soldOut = new ProductResponse(PRODUCT_ID, "Monitor", 0, BigDecimal.valueOf(30));
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, monitor));
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, mouse));
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, monitor, soldOut));
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, mouse, null));
+
+        ProductSummaryResponse actual = engine.getSummary();
+
+        assertEquals(1L, actual.totalProducts());
+        assertEquals(0L, actual.totalQuantity());
+        assertEquals(BigDecimal.valueOf(30.0), actual.averagePrice());
+        assertThat(actual.outOfStockProductList())
+                .containsExactly(new ProductSummaryResponse.OutOfStockProduct(PRODUCT_ID, "Monitor"));
+        verify(productRepository, times(1)).getProductSummary();
+    }
+
+    @Test
+    void givenWriteDuringReconciliation_whenReconcile_thenResultIsNotInstalled() {
+        ProductResponse monitor = new ProductResponse(PRODUCT_ID, "Monitor", 1, BigDecimal.ONE);
+        when(productRepository.getProductSummary()).thenAnswer(invocation -> {
+            engine.onProductChanging(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, monitor));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            return projection(1L, 1L, BigDecimal.ONE);
+        }).thenReturn(projection(1L, 1L, BigDecimal.ONE));
+        when(productRepository.findByQuantity(0)).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.reconcile();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        engine.getSummary();
+
+        verify(productRepository, times(2)).getProductSummary();
+    }
+
+    @Test
+    void givenWriteCommittingBeforeReconciliation_whenReconcile_thenResultIsNotInstalled() {
+        when(productRepository.getProductSummary()).thenReturn(projection(1L, 1L, BigDecimal.ONE));
+        when(productRepository.findByQuantity(0)).thenReturn(List.of());
+        ProductResponse monitor = new ProductResponse(PRODUCT_ID, "Monitor", 1, BigDecimal.ONE);
+        ProductChangedEvent created = new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, monitor);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.onProductChanging(created);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            engine.reconcile();
+            engine.onProductChanged(created);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        engine.getSummary();
+
+        verify(productRepository, times(2)).getProductSummary();
+    }
+
+    @Test
+    void givenChangeRolledBackBeforeCommit_whenReconcile_thenResultIsInstalled() {
+        when(productRepository.getProductSummary()).thenReturn(projection(1L, 1L, BigDecimal.ONE));
+        when(productRepository.findByQuantity(0)).thenReturn(List.of());
+        ProductResponse monitor = new ProductResponse(PRODUCT_ID, "Monitor", 1, BigDecimal.ONE);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.onProductChanging(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, monitor));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        engine.reconcile();
+        ProductSummaryResponse actual = engine.getSummary();
+
+        assertEquals(1L, actual.totalProducts());
+        assertFalse(TransactionSynchronizationManager.hasResource(engine));
+        verify(productRepository, times(1)).getProductSummary();
+    }
+
+    @Test
+    void givenChangeAppliedWithoutTransactionDuringReconciliation_whenReconcile_thenResultIsNotInstalled() {
+        ProductResponse monitor = new ProductResponse(PRODUCT_ID, "Monitor", 1, BigDecimal.ONE);
+        when(productRepository.getProductSummary()).thenAnswer(invocation -> {
+            engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, monitor));
+            return projection(1L, 1L, BigDecimal.ONE);
+        });
+        when(productRepository.findByQuantity(0)).thenReturn(List.of());
+
+        engine.reconcile();
+        engine.getSummary();
+
+        verify(productRepository, times(2)).getProductSummary();
+    }
+
+    private static ProductRepository.ProductSummaryProjection projection(long products, long quantity, BigDecimal totalPrice) {
+        return new ProductRepository.ProductSummaryProjection() {
+            @Override
+            public long getTotalProducts() {
+                return products;
+            }
+
+            @Override
+            public long getTotalQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public BigDecimal getTotalPrice() {
+                return totalPrice;
+            }
+
+            @Override
+            public BigDecimal getAveragePrice() {
+                return null;
+            }
+        };
+    }
+}
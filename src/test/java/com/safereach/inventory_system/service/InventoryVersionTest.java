@@ -0,0 +1,53 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryVersionTest {
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Monitor", 3, BigDecimal.TEN);
+
+    private final InventoryVersion version = new InventoryVersion();
+
+    @Test
+    void givenNoChanges_whenEtagTwice_thenSameStrongTag() {
+        String etag = version.etag();
+
+        assertEquals(etag, version.etag());
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertFalse(etag.startsWith("W/"));
+    }
+
+    @Test
+    void givenProductChanged_whenEtag_thenTagChanges() {
+        String before = version.etag();
+
+        version.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT));
+
+        assertNotEquals(before, version.etag());
+        assertEquals(1, version.current());
+    }
+
+    @Test
+    void givenAdvance_whenEtag_thenTagChanges() {
+        String before = version.etag();
+
+        version.advance();
+
+        assertNotEquals(before, version.etag());
+    }
+
+    @Test
+    void givenTwoInstances_whenEtag_thenTagsDifferAtSameVersion() {
+        InventoryVersion restarted = new InventoryVersion();
+
+        assertEquals(version.current(), restarted.current());
+        assertNotEquals(version.etag(), restarted.etag());
+    }
+}
@@ -0,0 +1,112 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductBatchResponse;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.ProductAlreadyExistsException;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBatchServiceTest {
+    private static final BigDecimal PRICE = BigDecimal.TEN;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new ProductBatchService(
+                productRepository, productMapper, productService, eventPublisher, transactionManager, 2);
+        lenient().when(productMapper.toEntity(any())).thenAnswer(invocation -> {
+            ProductRequest request = invocation.getArgument(0);
+            return new Product(null, request.name(), request.quantity(), request.price());
+        });
+        lenient().when(productMapper.toResponse(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return ProductChangedEvent.snapshot(product);
+        });
+    }
+
+    @Test
+    void givenConflictsAndDuplicates_whenCreateProducts_thenReportPerItemResultsInChunks() {
+        List<ProductRequest> requests = List.of(
+                new ProductRequest("A", 1, PRICE),
+                new ProductRequest("B", 1, PRICE),
+                new ProductRequest("A", 2, PRICE),
+                new ProductRequest("C", 3, PRICE));
+        when(productRepository.findExistingNames(List.of("A", "B"))).thenReturn(Set.of("B"));
+        when(productRepository.findExistingNames(List.of("C"))).thenReturn(Set.of());
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setId(UUID.randomUUID()));
+            return products;
+        });
+
+        ProductBatchResponse response = batchService.createProducts(requests);
+
+        assertEquals(2, response.created());
+        assertEquals(2, response.conflicts());
+        assertThat(response.items()).extracting(ProductBatchResponse.ItemResult::status).containsExactly(
+                ProductBatchResponse.Status.CREATED,
+                ProductBatchResponse.Status.CONFLICT,
+                ProductBatchResponse.Status.CONFLICT,
+                ProductBatchResponse.Status.CREATED);
+        assertEquals("C", response.items().get(3).product().name());
+        verify(productRepository, times(2)).findExistingNames(anyCollection());
+        verify(productRepository, never()).existsByName(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void givenChunkFailure_whenCreateProducts_thenRetryItemsIndividually() {
+        List<ProductRequest> requests = List.of(
+                new ProductRequest("A", 1, PRICE),
+                new ProductRequest("B", 1, PRICE));
+        ProductResponse created = new ProductResponse(UUID.randomUUID(), "A", 1, PRICE);
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        when(productRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(productService.createProduct(requests.get(0))).thenReturn(created);
+        when(productService.createProduct(requests.get(1))).thenThrow(new ProductAlreadyExistsException("B"));
+
+        ProductBatchResponse response = batchService.createProducts(requests);
+
+        assertEquals(1, response.created());
+        assertEquals(created, response.items().get(0).product());
+        assertEquals(ProductBatchResponse.Status.CONFLICT, response.items().get(1).status());
+    }
+}
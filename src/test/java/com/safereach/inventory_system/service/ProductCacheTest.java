@@ -0,0 +1,79 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Monitor", 3, BigDecimal.TEN);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductCache(meterRegistry, 10, Duration.ofMinutes(1), false);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void givenCachedProduct_whenGetAgain_thenLoadOnceAndRecordHit() {
+        assertEquals(Optional.of(PRODUCT), cache.get(PRODUCT.id(), this::load));
+        assertEquals(Optional.of(PRODUCT), cache.get(PRODUCT.id(), this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void givenCachedProduct_whenProductChanges_thenNextGetReloads() {
+        cache.get(PRODUCT.id(), this::load);
+
+        ProductResponse sold = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 2, PRODUCT.price());
+        cache.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold));
+        cache.get(PRODUCT.id(), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenQuantityEngine_whenOnlyQuantityChanges_thenEntryIsKept() {
+        ProductCache overlaidCache = new ProductCache(meterRegistry, 10, Duration.ofMinutes(1), true);
+        overlaidCache.get(PRODUCT.id(), this::load);
+
+        ProductResponse sold = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 2, PRODUCT.price());
+        overlaidCache.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold));
+        overlaidCache.get(PRODUCT.id(), this::load);
+        ProductResponse repriced = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 2, BigDecimal.ONE);
+        overlaidCache.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, sold, repriced));
+        overlaidCache.get(PRODUCT.id(), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenMissingProduct_whenGet_thenNothingIsCached() {
+        assertTrue(cache.get(PRODUCT.id(), id -> Optional.empty()).isEmpty());
+
+        assertEquals(Optional.of(PRODUCT), cache.get(PRODUCT.id(), this::load));
+    }
+
+    private Optional<ProductResponse> load(UUID id) {
+        loads.incrementAndGet();
+        return Optional.of(PRODUCT);
+    }
+}
@@ -0,0 +1,189 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeBusTest {
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Monitor", 3, BigDecimal.TEN);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcConnectionDetails connectionDetails;
+
+    @Mock
+    private ApplicationEventPublisher localPublisher;
+
+    @Mock
+    private ApplicationEventPublisher remotePublisher;
+
+    @Test
+    void givenLocalChange_whenSentAndReceivedElsewhere_thenRepublishedAsRemoteChange() {
+        ProductChangeBus local = bus(localPublisher, false);
+        ProductChangeBus remote = bus(remotePublisher, false);
+        ProductResponse sold = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 2, PRODUCT.price());
+
+        local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold));
+        String payload = sentPayload();
+        remote.receive(payload);
+        local.receive(payload);
+
+        verify(remotePublisher).publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold, true));
+        verifyNoInteractions(localPublisher);
+    }
+
+    @Test
+    void givenRemoteChange_whenOnProductChanged_thenNotSentAgain() {
+        bus(localPublisher, false).onProductChanged(
+                new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT, true));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void givenStateTooLargeForNotification_whenReceived_thenResync() {
+        ProductResponse large = new ProductResponse(PRODUCT.id(), "x".repeat(10_000), 1, PRODUCT.price());
+
+        bus(localPublisher, false).onProductChanged(
+                new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, large));
+        String payload = sentPayload();
+        bus(remotePublisher, false).receive(payload);
+
+        assertTrue(payload.length() < 8000);
+        verify(remotePublisher).publishEvent(any(ProductResyncEvent.class));
+        verify(remotePublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void givenChangesInOneTransaction_whenCommitting_thenSentInOneNotification() {
+        ProductChangeBus local = bus(localPublisher, false);
+        ProductResponse sold = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 2, PRODUCT.price());
+
+        inTransaction(() -> {
+            local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT));
+            local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold));
+            verifyNoInteractions(jdbcTemplate);
+        });
+        bus(remotePublisher, false).receive(sentPayload());
+
+        verify(remotePublisher).publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT, true));
+        verify(remotePublisher).publishEvent(
+                new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, sold, true));
+    }
+
+    @Test
+    void givenTransactionTooLargeForOneNotification_whenCommitting_thenSplitUnderPayloadLimit() {
+        ProductChangeBus local = bus(localPublisher, false);
+
+        inTransaction(() -> {
+            for (int i = 0; i < 200; i++) {
+                local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null,
+                        new ProductResponse(UUID.randomUUID(), "Product " + i, i, PRODUCT.price())));
+            }
+        });
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(2)).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("product_changes"), payloads.capture());
+        ProductChangeBus remote = bus(remotePublisher, false);
+        for (String payload : payloads.getAllValues()) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8000);
+            remote.receive(payload);
+        }
+        verify(remotePublisher, times(200)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void givenRolledBackTransaction_whenCompleted_thenNothingSent() {
+        ProductChangeBus local = bus(localPublisher, false);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(jdbcTemplate);
+        assertFalse(TransactionSynchronizationManager.hasResource(local));
+    }
+
+    @Test
+    void givenChangeOutsideTransactionNotSent_whenNextSent_thenReceiversResync() {
+        ProductChangeBus local = bus(localPublisher, false);
+        doThrow(new QueryTimeoutException("down")).doNothing()
+                .when(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class), any(), any());
+
+        local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT));
+        local.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, PRODUCT, null));
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("product_changes"), payloads.capture());
+        bus(remotePublisher, false).receive(payloads.getValue());
+        verify(remotePublisher).publishEvent(any(ProductResyncEvent.class));
+    }
+
+    @Test
+    void givenQuantityEngineEnabled_whenCreateBus_thenReject() {
+        assertThrows(IllegalStateException.class, () -> bus(localPublisher, true));
+    }
+
+    private ProductChangeBus bus(ApplicationEventPublisher eventPublisher, boolean quantityEngineEnabled) {
+        return new ProductChangeBus(jdbcTemplate, connectionDetails, objectMapper, eventPublisher,
+                new SimpleMeterRegistry(), true, "product_changes", Duration.ofSeconds(1), Duration.ofSeconds(1),
+                quantityEngineEnabled);
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private String sentPayload() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("product_changes"), payload.capture());
+        return payload.getValue();
+    }
+}
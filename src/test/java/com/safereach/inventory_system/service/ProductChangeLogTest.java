@@ -0,0 +1,96 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductChangeLogTest {
+    private static final long ORIGIN = 1_000;
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Monitor", 3, BigDecimal.TEN);
+
+    private final ProductChangeLog changeLog = new ProductChangeLog(4, ORIGIN);
+
+    @Test
+    void givenChanges_whenGet_thenNumberedFromOrigin() {
+        changeLog.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PRODUCT));
+        changeLog.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, PRODUCT, null));
+
+        assertEquals(ORIGIN + 2, changeLog.head());
+        assertEquals(ProductChangedEvent.ChangeType.CREATED, changeLog.get(ORIGIN + 1).type());
+        assertEquals(PRODUCT, changeLog.get(ORIGIN + 2).before());
+        assertNull(changeLog.get(ORIGIN + 3));
+    }
+
+    @Test
+    void givenMoreChangesThanCapacity_whenGetOldest_thenOverwritten() {
+        for (int i = 0; i < 6; i++) {
+            append(i);
+        }
+
+        assertNull(changeLog.get(ORIGIN + 2));
+        assertEquals(2, changeLog.get(ORIGIN + 3).after().quantity());
+        assertFalse(changeLog.canResumeFrom(ORIGIN + 1));
+        assertTrue(changeLog.canResumeFrom(ORIGIN + 2));
+        assertTrue(changeLog.canResumeFrom(ORIGIN + 6));
+    }
+
+    @Test
+    void givenPositionFromEarlierBootOrFuture_whenCanResume_thenFalse() {
+        append(1);
+
+        assertFalse(changeLog.canResumeFrom(ORIGIN - 1));
+        assertFalse(changeLog.canResumeFrom(ORIGIN + 2));
+        assertTrue(changeLog.canResumeFrom(ORIGIN));
+    }
+
+    @Test
+    void givenResync_whenCanResume_thenOnlyLaterPositionsResumable() {
+        append(1);
+        changeLog.onResync(new ProductResyncEvent("test"));
+        append(2);
+
+        assertFalse(changeLog.canResumeFrom(ORIGIN + 1));
+        assertTrue(changeLog.canResumeFrom(ORIGIN + 2));
+    }
+
+    @Test
+    void givenWaitingReader_whenChangeAppended_thenReaderWakesWithNewHead() throws Exception {
+        CompletableFuture<Long> head = CompletableFuture.supplyAsync(() -> {
+            try {
+                return changeLog.awaitAfter(ORIGIN, Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }, runnable -> Thread.ofVirtual().start(runnable));
+
+        Thread.sleep(50);
+        append(1);
+
+        assertEquals(ORIGIN + 1, head.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenNoChanges_whenAwait_thenReturnCurrentHeadAfterTimeout() throws InterruptedException {
+        assertEquals(ORIGIN, changeLog.awaitAfter(ORIGIN, Duration.ofMillis(20)));
+    }
+
+    @Test
+    void givenSizeNotPowerOfTwo_whenCreate_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductChangeLog(1000, ORIGIN));
+    }
+
+    private void append(int quantity) {
+        ProductResponse after = new ProductResponse(PRODUCT.id(), PRODUCT.name(), quantity, PRODUCT.price());
+        changeLog.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PRODUCT, after));
+    }
+}
@@ -0,0 +1,126 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.wire.ProductColumnsDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+    private static final Sort SORT = Sort.by("name", "id");
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Cable, \"USB-C\"", 3, new BigDecimal("9.90"));
+    private static final ProductResponse PRODUCT_2 = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174001"), "Monitor", 0, new BigDecimal("199.00"));
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+
+    @Mock
+    private QuantityEngine quantityEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProductExportService(productRepository, quantityWriteBehindBuffer, quantityEngine,
+                new ObjectMapper(), transactionManager);
+    }
+
+    @Test
+    void givenProducts_whenExportNdjson_thenWriteOneJsonObjectPerLine() {
+        when(productRepository.streamAll(SORT)).thenReturn(Stream.of(PRODUCT, PRODUCT_2));
+
+        String actual = export(ProductFileFormat.NDJSON);
+
+        assertEquals("""
+                {"id":"123e4567-e89b-12d3-a456-426614174000","name":"Cable, \\"USB-C\\"","quantity":3,"price":9.90}
+                {"id":"123e4567-e89b-12d3-a456-426614174001","name":"Monitor","quantity":0,"price":199.00}
+                """, actual);
+    }
+
+    @Test
+    void givenProducts_whenExportCsv_thenWriteHeaderAndEscapedRows() {
+        when(productRepository.streamAll(SORT)).thenReturn(Stream.of(PRODUCT, PRODUCT_2));
+
+        String actual = export(ProductFileFormat.CSV);
+
+        assertEquals("""
+                id,name,quantity,price
+                123e4567-e89b-12d3-a456-426614174000,"Cable, ""USB-C\"\"",3,9.90
+                123e4567-e89b-12d3-a456-426614174001,Monitor,0,199.00
+                """, actual);
+    }
+
+    @Test
+    void givenProducts_whenExportColumns_thenWriteDecodableBinary() throws IOException {
+        when(productRepository.streamAll(SORT)).thenReturn(Stream.of(PRODUCT, PRODUCT_2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ProductFileFormat.COLUMNS, SORT, out);
+
+        assertEquals(List.of(PRODUCT, PRODUCT_2), ProductColumnsDecoder.decode(out.toByteArray()));
+    }
+
+    @Test
+    void givenBufferedQuantity_whenExport_thenRowCarriesVisibleQuantity() {
+        ProductResponse sold = new ProductResponse(PRODUCT.id(), PRODUCT.name(), 1, PRODUCT.price());
+        when(productRepository.streamAll(SORT)).thenReturn(Stream.of(PRODUCT, PRODUCT_2));
+        when(quantityWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(quantityWriteBehindBuffer.overlay(PRODUCT)).thenReturn(sold);
+        when(quantityWriteBehindBuffer.overlay(PRODUCT_2)).thenReturn(PRODUCT_2);
+
+        String actual = export(ProductFileFormat.CSV);
+
+        assertEquals("""
+                id,name,quantity,price
+                123e4567-e89b-12d3-a456-426614174000,"Cable, ""USB-C\"\"",1,9.90
+                123e4567-e89b-12d3-a456-426614174001,Monitor,0,199.00
+                """, actual);
+    }
+
+    @Test
+    void givenQuantityEngineEnabled_whenExport_thenRowCarriesEngineQuantity() throws IOException {
+        ProductResponse restocked = new ProductResponse(PRODUCT_2.id(), PRODUCT_2.name(), 8, PRODUCT_2.price());
+        when(productRepository.streamAll(SORT)).thenReturn(Stream.of(PRODUCT, PRODUCT_2));
+        when(quantityEngine.isEnabled()).thenReturn(true);
+        when(quantityEngine.overlay(PRODUCT)).thenReturn(PRODUCT);
+        when(quantityEngine.overlay(PRODUCT_2)).thenReturn(restocked);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ProductFileFormat.COLUMNS, SORT, out);
+
+        assertEquals(List.of(PRODUCT, restocked), ProductColumnsDecoder.decode(out.toByteArray()));
+        verifyNoInteractions(quantityWriteBehindBuffer);
+    }
+
+    private String export(ProductFileFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, SORT, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
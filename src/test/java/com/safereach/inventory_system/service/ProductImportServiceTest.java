@@ -0,0 +1,180 @@
+package com.safereach.inventory_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductImportReport;
+import com.safereach.inventory_system.dto.ProductImportReport.LineError;
+import com.safereach.inventory_system.dto.ProductRequest;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InvalidImportFileException;
+import com.safereach.inventory_system.mapper.ProductMapper;
+import com.safereach.inventory_system.repository.ProductRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+
+    @Mock
+    private QuantityEngine quantityEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ValidatorFactory validatorFactory;
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new ProductImportService(productRepository, productMapper, quantityWriteBehindBuffer,
+                quantityEngine, eventPublisher, new ObjectMapper(), validatorFactory.getValidator(), transactionManager, 2, 100);
+        lenient().when(quantityEngine.overlay(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(productMapper.toEntity(any())).thenAnswer(invocation -> {
+            ProductRequest request = invocation.getArgument(0);
+            return new Product(null, request.name(), request.quantity(), request.price());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void givenCsvWithInvalidRows_whenImport_thenUpsertValidRowsInChunksAndReportErrors() {
+        Product existing = new Product(UUID.randomUUID(), "Mouse", 1, BigDecimal.ONE);
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of(existing)).thenReturn(List.of());
+
+        ProductImportReport report = importService.importProducts(csv("""
+                name,quantity,price
+                Mouse,5,1.00
+                "Cable, USB-C",3,9.90
+                Broken,-1,2.00
+                NotANumber,x,2.00
+                Monitor,0,199.00
+                """), ProductFileFormat.CSV, 1);
+
+        assertEquals(6, report.linesRead());
+        assertEquals(2, report.created());
+        assertEquals(1, report.updated());
+        assertEquals(2, report.failed());
+        assertEquals(6, report.lastCommittedLine());
+        assertEquals(5, existing.getQuantity());
+        assertThat(report.errors()).extracting(LineError::line).containsExactly(4L, 5L);
+        assertEquals("quantity: Quantity must be at least 0", report.errors().getFirst().message());
+        verify(productRepository, times(2)).flush();
+        verify(quantityWriteBehindBuffer).overwrite(existing.getId(), 5);
+        verify(eventPublisher, times(3)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void givenFromLine_whenImportNdjson_thenSkipEarlierLines() {
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+
+        ProductImportReport report = importService.importProducts(csv("""
+                {"name":"A","quantity":1,"price":1.0}
+                {"name":"B","quantity":1,"price":1.0}
+                {"name":"C","quantity":1,"price":1.0}
+                {not json}
+                """), ProductFileFormat.NDJSON, 3);
+
+        assertEquals(4, report.linesRead());
+        assertEquals(1, report.created());
+        assertEquals(3, report.lastCommittedLine());
+        assertEquals(List.of(4L), report.errors().stream().map(LineError::line).toList());
+        verify(productRepository).findByNameIn(argThat(names -> List.copyOf(names).equals(List.of("C"))));
+    }
+
+    @Test
+    void givenFailingChunk_whenImport_thenLaterChunksStillCommit() {
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("boom")).doNothing().when(productRepository).flush();
+
+        ProductImportReport report = importService.importProducts(csv("""
+                name,quantity,price
+                A,1,1
+                B,1,1
+                C,1,1
+                """), ProductFileFormat.CSV, 1);
+
+        assertEquals(1, report.created());
+        assertEquals(2, report.failed());
+        assertEquals(4, report.lastCommittedLine());
+    }
+
+    @Test
+    void givenUpdateInChunkThatFailsToFlush_whenImport_thenNothingIsPublished() {
+        Product existing = new Product(UUID.randomUUID(), "Mouse", 1, BigDecimal.ONE);
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of(existing));
+        doThrow(new DataIntegrityViolationException("boom")).when(productRepository).flush();
+
+        ProductImportReport report = importService.importProducts(csv("""
+                name,quantity,price
+                Mouse,5,1
+                Keyboard,2,1
+                """), ProductFileFormat.CSV, 2);
+
+        assertEquals(2, report.failed());
+        verifyNoInteractions(eventPublisher, quantityWriteBehindBuffer);
+        verify(quantityEngine, never()).overwrite(any(), anyInt());
+    }
+
+    @Test
+    void givenSameNameTwiceInChunk_whenImport_thenLastLineWinsAndEarlierReported() {
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+
+        ProductImportReport report = importService.importProducts(csv("""
+                name,quantity,price
+                Mouse,1,1
+                Mouse,7,1
+                """), ProductFileFormat.CSV, 1);
+
+        assertEquals(1, report.created());
+        assertEquals(1, report.failed());
+        assertEquals(List.of(new LineError(2, "Superseded by line 3, which has the same name")), report.errors());
+        verify(productMapper).toEntity(new ProductRequest("Mouse", 7, BigDecimal.ONE));
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumns_whenImport_thenRejectFile() {
+        assertThrows(InvalidImportFileException.class, () ->
+                importService.importProducts(csv("id,name\n"), ProductFileFormat.CSV, 1));
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,139 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.QuantityBufferedEvent;
+import com.safereach.inventory_system.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+    private static final ProductResponse HEADPHONES = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Wireless Headphones", 5, BigDecimal.TEN);
+    private static final ProductResponse PHONE = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174001"), "Phone", 2, BigDecimal.ONE);
+    private static final ProductResponse MONITOR = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174002"), "Monitor", 0, BigDecimal.ONE);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+
+    @Mock
+    private QuantityEngine quantityEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(productRepository, quantityWriteBehindBuffer, quantityEngine, transactionManager);
+        lenient().when(quantityWriteBehindBuffer.overlay(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void givenRebuiltIndex_whenSearch_thenReturnVerifiedMatchesInNameOrder() {
+        when(productRepository.streamAll(any())).thenReturn(Stream.of(MONITOR, HEADPHONES, PHONE));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(PHONE, HEADPHONES), index.search("PHONE"));
+        assertEquals(List.of(MONITOR, PHONE, HEADPHONES), index.search("on"));
+        assertThat(index.search("phonex")).isEmpty();
+        assertThat(index.search("enohp")).isEmpty();
+    }
+
+    @Test
+    void givenChanges_whenSearch_thenIndexStaysInSync() {
+        when(productRepository.streamAll(any())).thenReturn(Stream.empty());
+        index.rebuild();
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, HEADPHONES));
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PHONE));
+        ProductResponse restocked = new ProductResponse(PHONE.id(), PHONE.name(), 7, PHONE.price());
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PHONE, restocked));
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, HEADPHONES, null));
+
+        assertEquals(List.of(restocked), index.search("hon"));
+    }
+
+    @Test
+    void givenDeleteDuringRebuild_whenRebuildFinishes_thenDeletedRowIsNotResurrected() {
+        when(productRepository.streamAll(any())).thenReturn(Stream.of(PHONE).peek(row ->
+                index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, PHONE, null))));
+
+        index.rebuild();
+
+        assertThat(index.search("phone")).isEmpty();
+    }
+
+    @Test
+    void givenRebuiltIndex_whenSuggest_thenReturnPrefixMatchesByQuantityUpToLimit() {
+        ProductResponse phoneCase = new ProductResponse(
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174003"), "phone case", 9, BigDecimal.ONE);
+        ProductResponse phoneStand = new ProductResponse(
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174004"), "Phone Stand", 1, BigDecimal.ONE);
+        when(productRepository.streamAll(any())).thenReturn(Stream.of(MONITOR, HEADPHONES, PHONE, phoneCase, phoneStand));
+
+        index.rebuild();
+
+        assertEquals(List.of(phoneCase, PHONE, phoneStand), index.suggest("PHO", 10));
+        assertEquals(List.of(phoneCase, PHONE), index.suggest("phone", 2));
+        assertEquals(List.of(MONITOR), index.suggest("m", 10));
+        assertThat(index.suggest("headphones", 10)).isEmpty();
+        assertThat(index.suggest("phonex", 10)).isEmpty();
+    }
+
+    @Test
+    void givenChanges_whenSuggest_thenPrefixesStayInSync() {
+        when(productRepository.streamAll(any())).thenReturn(Stream.empty());
+        index.rebuild();
+
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, HEADPHONES));
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, PHONE));
+        ProductResponse renamed = new ProductResponse(PHONE.id(), "Smartphone", PHONE.quantity(), PHONE.price());
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, PHONE, renamed));
+        ProductResponse lowerCased = new ProductResponse(PHONE.id(), "smartphone", 4, PHONE.price());
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, renamed, lowerCased));
+        index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, HEADPHONES, null));
+
+        assertThat(index.suggest("pho", 10)).isEmpty();
+        assertThat(index.suggest("wire", 10)).isEmpty();
+        assertEquals(List.of(lowerCased), index.suggest("Smart", 10));
+        assertEquals(List.of(lowerCased), index.suggest("sm", 10));
+    }
+
+    @Test
+    void givenBufferedDelta_whenSuggest_thenRankedByVisibleQuantity() {
+        ProductResponse phoneCase = new ProductResponse(
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174003"), "Phone Case", 1, BigDecimal.ONE);
+        when(productRepository.streamAll(any())).thenReturn(Stream.of(PHONE, phoneCase));
+        index.rebuild();
+        ProductResponse restocked = new ProductResponse(phoneCase.id(), phoneCase.name(), 8, phoneCase.price());
+        when(quantityWriteBehindBuffer.overlay(phoneCase)).thenReturn(restocked);
+
+        index.onQuantityBuffered(new QuantityBufferedEvent(phoneCase.id(), 7));
+
+        assertEquals(List.of(restocked, PHONE), index.suggest("pho", 10));
+        assertEquals(List.of(restocked, PHONE), index.suggest("phone", 10));
+    }
+}
@@ -1,27 +1,49 @@
 package com.safereach.inventory_system.service;
 
+import com.safereach.inventory_system.dto.ProductCursor;
+import com.safereach.inventory_system.dto.ProductCursorPageResponse;
+import com.safereach.inventory_system.dto.ProductFilter;
 import com.safereach.inventory_system.dto.ProductRequest;
 import com.safereach.inventory_system.dto.ProductResponse;
 import com.safereach.inventory_system.dto.ProductSummaryResponse;
 import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
 import com.safereach.inventory_system.exception.ProductAlreadyExistsException;
 import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
 import com.safereach.inventory_system.mapper.ProductMapper;
 import com.safereach.inventory_system.repository.ProductRepository;
+import com.safereach.inventory_system.repository.ProductSortField;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +65,33 @@ public class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private InventorySummaryEngine inventorySummaryEngine;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private QuantityWriteBehindBuffer quantityWriteBehindBuffer;
+
+    @Mock
+    private QuantityEngine quantityEngine;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InventoryVersion inventoryVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void givenProductRequest_whenCreateProduct_thenReturnProductResponse() {
         ProductRequest request = new ProductRequest(PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
@@ -59,6 +108,7 @@ public class ProductServiceTest {
         assertNotNull(actual);
         assertEquals(expected, actual);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -73,21 +123,24 @@ public class ProductServiceTest {
     }
 
     @Test
-    void givenProducts_whenGetAllProducts_thenReturnProductResponses() {
-        // prepare sample products
-        Product product1 = new Product(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
-        Product product2 = new Product(
-                PRODUCT_ID_2,
-                PRODUCT_NAME_2,
-                PRODUCT_QUANTITY + 5,
-                PRODUCT_PRICE.add(BigDecimal.valueOf(50))
-        );
-        List<Product> products = List.of(product1, product2);
+    void givenExistingId_whenGetProductById_thenReturnProductThroughCache() {
+        ProductResponse expected = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        when(productCache.get(eq(PRODUCT_ID), any())).thenReturn(Optional.of(expected));
 
-        // create a pageable and wrap products in a Page
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> page = new PageImpl<>(products, pageable, products.size());
+        ProductResponse actual = productService.getProductById(PRODUCT_ID);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void givenNonExistingId_whenGetProductById_thenThrowException() {
+        when(productCache.get(eq(PRODUCT_ID), any())).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById(PRODUCT_ID));
+    }
 
+    @Test
+    void givenProducts_whenGetAllProducts_thenReturnProductResponses() {
         // expected responses
         ProductResponse response1 = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
         ProductResponse response2 = new ProductResponse(
@@ -97,33 +150,58 @@ public class ProductServiceTest {
                 PRODUCT_PRICE.add(BigDecimal.valueOf(50))
         );
 
+        // create a pageable and wrap the projected rows in a Page
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ProductResponse> page = new PageImpl<>(List.of(response1, response2), pageable, 2);
+
         // stubbing
-        when(productRepository.findAll(pageable)).thenReturn(page);
-        when(productMapper.toResponse(product1)).thenReturn(response1);
-        when(productMapper.toResponse(product2)).thenReturn(response2);
+        when(productRepository.findResponses(any(Specification.class), eq(pageable))).thenReturn(page);
 
         // execute
-        Page<ProductResponse> actual = productService.getAllProducts(pageable);
+        Page<ProductResponse> actual = productService.getAllProducts(
+                new ProductFilter(null, BigDecimal.valueOf(200), null, 10), pageable);
 
         // verify
         assertNotNull(actual);
         assertEquals(2, actual.getTotalElements());
         assertEquals(List.of(response1, response2), actual.getContent());
-        verify(productRepository).findAll(pageable);
+        verify(productRepository).findResponses(any(Specification.class), eq(pageable));
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void givenMoreRowsThanPageSize_whenScrollProducts_thenReturnPageAndNextCursor() {
+        ProductResponse response1 = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        ProductResponse response2 = new ProductResponse(PRODUCT_ID_2, PRODUCT_NAME_2, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        ProductCursor cursor = ProductCursor.first(ProductSortField.PRICE, Sort.Direction.ASC);
+
+        when(productRepository.findResponses(any(Specification.class), eq(cursor.sort()), eq(2)))
+                .thenReturn(List.of(response1, response2));
+
+        ProductCursorPageResponse actual = productService.scrollProducts(ProductFilter.NONE, cursor, 1);
+
+        assertEquals(List.of(response1), actual.content());
+        assertEquals(cursor.after(response1), ProductCursor.decode(actual.nextCursor()));
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void givenLastPage_whenScrollProducts_thenNoNextCursor() {
+        ProductResponse response1 = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        ProductCursor cursor = ProductCursor.first(ProductSortField.NAME, Sort.Direction.ASC).after(response1);
+
+        when(productRepository.findResponses(any(Specification.class), eq(cursor.sort()), eq(11)))
+                .thenReturn(List.of(response1));
+
+        ProductCursorPageResponse actual = productService.scrollProducts(ProductFilter.NONE, cursor, 10);
+
+        assertEquals(List.of(response1), actual.content());
+        assertNull(actual.nextCursor());
     }
 
     @Test
     void givenName_whenSearchProductByName_thenReturnProductResponses() {
         String searchName = "Test";
-        Product product1 = new Product(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
-        Product product2 = new Product(
-                PRODUCT_ID_2,
-                PRODUCT_NAME_2,
-                PRODUCT_QUANTITY + 5,
-                PRODUCT_PRICE.add(BigDecimal.valueOf(50))
-        );
-        List<Product> products = List.of(product1, product2);
-
         ProductResponse response1 = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
         ProductResponse response2 = new ProductResponse(
                 PRODUCT_ID_2,
@@ -132,41 +210,107 @@ public class ProductServiceTest {
                 PRODUCT_PRICE.add(BigDecimal.valueOf(50))
         );
 
-        when(productRepository.findByNameContainingIgnoreCase(searchName)).thenReturn(products);
-        when(productMapper.toResponse(product1)).thenReturn(response1);
-        when(productMapper.toResponse(product2)).thenReturn(response2);
+        when(productRepository.findResponsesByNameContainingIgnoreCase(searchName)).thenReturn(List.of(response1, response2));
 
         List<ProductResponse> actual = productService.searchProductByName(searchName);
 
         assertNotNull(actual);
         assertEquals(List.of(response1, response2), actual);
-        verify(productRepository).findByNameContainingIgnoreCase(searchName);
+        verify(productRepository).findResponsesByNameContainingIgnoreCase(searchName);
+    }
+
+    @Test
+    void givenReadyIndex_whenSearchProductByName_thenServeFromIndex() {
+        String searchName = "Test";
+        ProductResponse response = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+
+        when(productNameIndex.isReady()).thenReturn(true);
+        when(productNameIndex.search(searchName)).thenReturn(List.of(response));
+
+        List<ProductResponse> actual = productService.searchProductByName(searchName);
+
+        assertEquals(List.of(response), actual);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenConcurrentIdenticalSearchesBeforeIndexIsReady_whenSearchProductByName_thenRunOneQuery() throws Exception {
+        int callers = 16;
+        ProductResponse response = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findResponsesByNameContainingIgnoreCase("Test")).thenAnswer(invocation -> {
+            release.await();
+            return List.of(response);
+        });
+        Counter shared = meterRegistry.get("inventory.coalescing.calls")
+                .tag("query", "search").tag("result", "shared").counter();
+
+        List<Future<List<ProductResponse>>> results;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results = IntStream.range(0, callers)
+                    .mapToObj(i -> executor.submit(() -> productService.searchProductByName("Test")))
+                    .toList();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (shared.count() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+        }
+
+        for (Future<List<ProductResponse>> result : results) {
+            assertEquals(List.of(response), result.get());
+        }
+        assertEquals(callers - 1, shared.count());
+        verify(productRepository, times(1)).findResponsesByNameContainingIgnoreCase("Test");
     }
 
     @Test
     void givenNonExistingName_whenSearchProductByName_thenThrowException() {
         String searchName = "NonExistent";
 
-        when(productRepository.findByNameContainingIgnoreCase(searchName)).thenReturn(List.of());
+        when(productRepository.findResponsesByNameContainingIgnoreCase(searchName)).thenReturn(List.of());
 
         assertThrows(ProductNotFoundException.class, () -> productService.searchProductByName(searchName));
-        verify(productRepository).findByNameContainingIgnoreCase(searchName);
+        verify(productRepository).findResponsesByNameContainingIgnoreCase(searchName);
+    }
+
+    @Test
+    void givenReadyIndex_whenSuggestProducts_thenServeFromIndex() {
+        ProductResponse response = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+
+        when(productNameIndex.isReady()).thenReturn(true);
+        when(productNameIndex.suggest("Te", 5)).thenReturn(List.of(response));
+
+        assertEquals(List.of(response), productService.suggestProducts("Te", 5));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenNoMatchBeforeIndexIsReady_whenSuggestProducts_thenReturnEmptyList() {
+        when(productRepository.findResponsesByNameStartingWithIgnoreCaseOrderByQuantityDescNameAscIdAsc(
+                "zz", Limit.of(10))).thenReturn(List.of());
+
+        assertTrue(productService.suggestProducts("zz", 10).isEmpty());
     }
 
     @Test
     void givenExistingId_whenDeleteProduct_thenInvokeDelete() {
-        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+        Product existing = new Product(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(existing));
 
         productService.deleteProduct(PRODUCT_ID);
 
-        verify(productRepository).deleteById(PRODUCT_ID);
+        verify(productRepository).delete(existing);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(existing));
     }
 
     @Test
     void givenNonExistingId_whenDeleteProduct_thenThrowException() {
-        when(productRepository.existsById(PRODUCT_ID)).thenReturn(false);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct(PRODUCT_ID));
+        verify(productRepository, never()).delete(any(Product.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -186,6 +330,10 @@ public class ProductServiceTest {
         assertEquals(expected, actual);
         verify(productRepository).findById(PRODUCT_ID);
         verify(productRepository).save(existing);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(
+                ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE),
+                expected));
     }
 
     @Test
@@ -198,48 +346,106 @@ public class ProductServiceTest {
     }
 
     @Test
-    void givenProductsInSummary_whenGetProductSummary_thenReturnSummaryResponse() {
-        // stub projection
-        ProductRepository.ProductSummaryProjection summary = new ProductRepository.ProductSummaryProjection() {
-            @Override
-            public long getTotalProducts() {
-                return 5L;
-            }
+    void givenSufficientStock_whenAdjustProductQuantity_thenReturnAdjustedResponse() {
+        ProductRepository.ProductProjection adjusted = mock(ProductRepository.ProductProjection.class);
+        when(adjusted.getId()).thenReturn(PRODUCT_ID);
+        when(adjusted.getName()).thenReturn(PRODUCT_NAME);
+        when(adjusted.getQuantity()).thenReturn(PRODUCT_QUANTITY - 3);
+        when(adjusted.getPrice()).thenReturn(PRODUCT_PRICE);
+        when(productRepository.adjustQuantity(PRODUCT_ID, -3)).thenReturn(Optional.of(adjusted));
 
-            @Override
-            public long getTotalQuantity() {
-                return 100L;
-            }
+        ProductResponse actual = productService.adjustProductQuantity(PRODUCT_ID, -3);
 
-            @Override
-            public BigDecimal getAveragePrice() {
-                return BigDecimal.valueOf(50);
-            }
-        };
+        ProductResponse expected = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY - 3, PRODUCT_PRICE);
+        assertEquals(expected, actual);
+        verify(productRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(
+                ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE),
+                expected));
+    }
+
+    @Test
+    void givenWriteBehindEnabled_whenAdjustProductQuantity_thenBufferTheDelta() {
+        ProductResponse expected = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY + 1, PRODUCT_PRICE);
+        when(quantityWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(quantityWriteBehindBuffer.adjust(PRODUCT_ID, 1)).thenReturn(expected);
 
-        // prepare out-of-stock list
-        ProductSummaryResponse.OutOfStockProduct p1 =
-                new ProductSummaryResponse.OutOfStockProduct(PRODUCT_ID, PRODUCT_NAME);
-        ProductSummaryResponse.OutOfStockProduct p2 =
-                new ProductSummaryResponse.OutOfStockProduct(PRODUCT_ID_2, PRODUCT_NAME_2);
-        List<ProductSummaryResponse.OutOfStockProduct> outOfStock = List.of(p1, p2);
+        ProductResponse actual = productService.adjustProductQuantity(PRODUCT_ID, 1);
 
-        // stubbing repository
-        when(productRepository.getProductSummary()).thenReturn(summary);
-        when(productRepository.findByQuantity(0)).thenReturn(outOfStock);
+        assertEquals(expected, actual);
+        verify(inventoryVersion).advance();
+        verifyNoInteractions(productRepository, eventPublisher);
+    }
+
+    @Test
+    void givenQuantityEngineEnabled_whenAdjustProductQuantity_thenApplyInEngineAndPublishChange() {
+        ProductResponse cached = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        ProductResponse expected = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY + 1, PRODUCT_PRICE);
+        when(quantityEngine.isEnabled()).thenReturn(true);
+        when(productCache.get(eq(PRODUCT_ID), any())).thenReturn(Optional.of(cached));
+        when(quantityEngine.overlay(cached)).thenReturn(cached);
+        when(quantityEngine.adjust(PRODUCT_ID, 1)).thenReturn(new QuantityEngine.Change(PRODUCT_QUANTITY, PRODUCT_QUANTITY + 1));
+
+        ProductResponse actual = productService.adjustProductQuantity(PRODUCT_ID, 1);
+
+        assertEquals(expected, actual);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, cached, expected));
+        verifyNoInteractions(productRepository, quantityWriteBehindBuffer);
+    }
+
+    @Test
+    void givenQuantityEngineEnabled_whenUpdateProductQuantity_thenSetInEngineWithoutTransaction() {
+        ProductResponse cached = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, PRODUCT_QUANTITY, PRODUCT_PRICE);
+        ProductResponse expected = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 20, PRODUCT_PRICE);
+        when(quantityEngine.isEnabled()).thenReturn(true);
+        when(productCache.get(eq(PRODUCT_ID), any())).thenReturn(Optional.of(cached));
+        when(quantityEngine.overlay(cached)).thenReturn(cached);
+        when(quantityEngine.set(PRODUCT_ID, 20)).thenReturn(new QuantityEngine.Change(PRODUCT_QUANTITY, 20));
+
+        ProductResponse actual = productService.updateProductQuantity(PRODUCT_ID, 20);
+
+        assertEquals(expected, actual);
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, cached, expected));
+        verifyNoInteractions(transactionManager, productRepository);
+    }
+
+    @Test
+    void givenInsufficientStock_whenAdjustProductQuantity_thenThrowInsufficientStockException() {
+        when(productRepository.adjustQuantity(PRODUCT_ID, -50)).thenReturn(Optional.empty());
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> productService.adjustProductQuantity(PRODUCT_ID, -50));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void givenQuantityWouldOverflow_whenAdjustProductQuantity_thenThrowQuantityOutOfRangeException() {
+        when(productRepository.adjustQuantity(PRODUCT_ID, Integer.MAX_VALUE)).thenReturn(Optional.empty());
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+
+        assertThrows(QuantityOutOfRangeException.class,
+                () -> productService.adjustProductQuantity(PRODUCT_ID, Integer.MAX_VALUE));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void givenNonExistingId_whenAdjustProductQuantity_thenThrowProductNotFoundException() {
+        when(productRepository.adjustQuantity(PRODUCT_ID, 5)).thenReturn(Optional.empty());
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(false);
+
+        assertThrows(ProductNotFoundException.class, () -> productService.adjustProductQuantity(PRODUCT_ID, 5));
+    }
+
+    @Test
+    void whenGetProductSummary_thenDelegateToSummaryEngine() {
+        ProductSummaryResponse expected = new ProductSummaryResponse(5L, 100L, BigDecimal.valueOf(50), List.of());
+
+        when(inventorySummaryEngine.getSummary()).thenReturn(expected);
 
-        // execute service
         ProductSummaryResponse actual = productService.getProductSummary();
 
-        // assertions
-        assertNotNull(actual);
-        assertEquals(5L, actual.totalProducts());
-        assertEquals(100L, actual.totalQuantity());
-        assertEquals(BigDecimal.valueOf(50), actual.averagePrice());
-        assertEquals(outOfStock, actual.outOfStockProductList());
-
-        // verify interactions
-        verify(productRepository).getProductSummary();
-        verify(productRepository).findByQuantity(0);
+        assertEquals(expected, actual);
+        verifyNoInteractions(productRepository);
     }
 }
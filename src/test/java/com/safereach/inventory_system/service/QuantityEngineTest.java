@@ -0,0 +1,163 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuantityEngineTest {
+    private static final UUID MONITOR = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID KEYBOARD = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+
+    @TempDir
+    private Path walDirectory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final Map<UUID, Integer> database = new ConcurrentHashMap<>();
+    private final List<QuantityEngine> engines = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        database.put(MONITOR, 10);
+        database.put(KEYBOARD, 5);
+        lenient().doAnswer(invocation -> {
+            database.forEach(invocation.<ObjIntConsumer<UUID>>getArgument(0)::accept);
+            return null;
+        }).when(productRepository).forEachQuantity(any());
+        lenient().when(productRepository.writeQuantities(anyMap())).thenAnswer(invocation -> {
+            database.putAll(invocation.<Map<UUID, Integer>>getArgument(0));
+            return 0;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        engines.forEach(QuantityEngine::shutdown);
+    }
+
+    @Test
+    void givenChangesNotYetSnapshotted_whenRestarted_thenReplayedFromLog() {
+        QuantityEngine crashed = start();
+        assertEquals(new QuantityEngine.Change(10, 7), crashed.adjust(MONITOR, -3));
+        assertEquals(new QuantityEngine.Change(5, 9), crashed.set(KEYBOARD, 9));
+        crashed.adjust(MONITOR, 1);
+
+        QuantityEngine recovered = start();
+
+        assertEquals(10, database.get(MONITOR));
+        assertEquals(8, recovered.quantity(MONITOR));
+        assertEquals(9, recovered.quantity(KEYBOARD));
+        recovered.snapshot();
+        assertEquals(Map.of(MONITOR, 8, KEYBOARD, 9), database);
+    }
+
+    @Test
+    void givenSnapshot_whenRestarted_thenCoveredChangesAreNotReplayedAndSegmentsAreDeleted() throws IOException {
+        QuantityEngine engine = start();
+        for (int i = 0; i < 5; i++) {
+            engine.adjust(MONITOR, -1);
+        }
+        engine.snapshot();
+        engine.adjust(KEYBOARD, 1);
+        // stands in for a value written after the snapshot; replaying the covered records would undo it
+        database.put(MONITOR, 100);
+
+        QuantityEngine recovered = start();
+
+        assertEquals(100, recovered.quantity(MONITOR));
+        assertEquals(6, recovered.quantity(KEYBOARD));
+        assertEquals(2, segments().size());
+    }
+
+    @Test
+    void givenTornTail_whenRestarted_thenReplayStopsAtLastIntactRecord() throws IOException {
+        QuantityEngine crashed = start();
+        crashed.set(MONITOR, 1);
+        crashed.set(MONITOR, 2);
+        crashed.set(MONITOR, 3);
+        try (RandomAccessFile last = new RandomAccessFile(segments().getLast().toFile(), "rw")) {
+            last.seek(10);
+            last.write(0xFF);
+        }
+
+        QuantityEngine recovered = start();
+        assertEquals(2, recovered.quantity(MONITOR));
+        recovered.set(MONITOR, 4);
+        QuantityEngine recoveredAgain = start();
+
+        assertEquals(4, recoveredAgain.quantity(MONITOR));
+    }
+
+    @Test
+    void givenInsufficientStockOrUnknownProduct_whenAdjust_thenRejectedWithoutLogging() {
+        QuantityEngine engine = start();
+
+        assertThrows(InsufficientStockException.class, () -> engine.adjust(MONITOR, -11));
+        assertThrows(QuantityOutOfRangeException.class, () -> engine.adjust(MONITOR, Integer.MAX_VALUE));
+        assertThrows(ProductNotFoundException.class, () -> engine.adjust(UUID.randomUUID(), 1));
+        assertEquals(10, engine.quantity(MONITOR));
+        assertEquals(10, start().quantity(MONITOR));
+    }
+
+    @Test
+    void givenCreatedAndDeletedEvents_whenApplied_thenTableFollowsCatalog() {
+        QuantityEngine engine = start();
+        UUID mouse = UUID.randomUUID();
+        ProductResponse created = new ProductResponse(mouse, "Mouse", 3, BigDecimal.ONE);
+        ProductResponse keyboard = new ProductResponse(KEYBOARD, "Keyboard", 5, BigDecimal.TEN);
+
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.CREATED, null, created));
+        engine.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.DELETED, keyboard, null));
+
+        assertEquals(new QuantityEngine.Change(3, 1), engine.adjust(mouse, -2));
+        assertEquals(QuantityTable.MISSING, engine.quantity(KEYBOARD));
+        assertEquals(new ProductResponse(mouse, "Mouse", 1, BigDecimal.ONE), engine.overlay(created));
+    }
+
+    private QuantityEngine start() {
+        // two records per segment, so every test also crosses segment boundaries
+        QuantityEngine engine = new QuantityEngine(productRepository, new SimpleMeterRegistry(), true, walDirectory,
+                DataSize.ofBytes(2L * QuantityWal.RECORD_SIZE), true, Duration.ofHours(1), false);
+        engine.recover();
+        engines.add(engine);
+        return engine;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+}
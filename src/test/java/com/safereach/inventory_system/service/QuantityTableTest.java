@@ -0,0 +1,86 @@
+package com.safereach.inventory_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantityTableTest {
+
+    @Test
+    void givenManyProducts_whenInsertedPastInitialCapacity_thenAllRemainReachable() {
+        QuantityTable table = new QuantityTable(4);
+        Map<UUID, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            expected.put(id, i);
+            assertTrue(table.insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), i));
+        }
+
+        assertEquals(expected.size(), table.size());
+        expected.forEach((id, quantity) ->
+                assertEquals(quantity, table.get(id.getMostSignificantBits(), id.getLeastSignificantBits())));
+        assertEquals(QuantityTable.MISSING, table.get(1, 2));
+    }
+
+    @Test
+    void givenRemovedProduct_whenLookedUp_thenMissingAndProbeChainStillIntact() {
+        QuantityTable table = new QuantityTable(16);
+        for (int i = 0; i < 12; i++) {
+            table.insert(0, i, i);
+        }
+
+        assertTrue(table.remove(0, 3));
+
+        assertEquals(QuantityTable.MISSING, table.get(0, 3));
+        assertEquals(11, table.size());
+        for (int i = 0; i < 12; i++) {
+            if (i != 3) {
+                assertEquals(i, table.get(0, i));
+            }
+        }
+        assertFalse(table.insert(0, 5, 99));
+        assertEquals(5, table.get(0, 5));
+    }
+
+    @Test
+    void givenRepeatedSets_whenDrained_thenEachIdListedOnceAndNextEpochStartsClean() {
+        QuantityTable table = new QuantityTable(16);
+        table.insert(0, 1, 10);
+        table.insert(0, 2, 20);
+        table.insert(0, 3, 30);
+
+        table.set(table.find(0, 1), 9);
+        table.set(table.find(0, 1), 8);
+        table.set(table.find(0, 2), 19);
+        QuantityTable.DirtyIds first = table.drainDirty();
+        QuantityTable.DirtyIds second = table.drainDirty();
+        table.set(table.find(0, 1), 7);
+        QuantityTable.DirtyIds third = table.drainDirty();
+
+        assertEquals(2, first.count());
+        assertEquals(1, first.lsb()[0]);
+        assertEquals(2, first.lsb()[1]);
+        assertEquals(0, second.count());
+        assertEquals(1, third.count());
+        assertEquals(7, table.get(0, 1));
+    }
+
+    @Test
+    void givenDirtyProduct_whenTableResizes_thenMarkSurvives() {
+        QuantityTable table = new QuantityTable(1);
+        table.insert(0, 1, 10);
+        table.set(table.find(0, 1), 11);
+        for (int i = 2; i < 100; i++) {
+            table.insert(0, i, i);
+        }
+        table.set(table.find(0, 1), 12);
+
+        assertEquals(1, table.drainDirty().count());
+    }
+}
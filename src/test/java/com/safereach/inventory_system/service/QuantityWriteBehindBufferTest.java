@@ -0,0 +1,179 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.QuantityOutOfRangeException;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuantityWriteBehindBufferTest {
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final String PRODUCT_NAME = "Test Product";
+    private static final BigDecimal PRODUCT_PRICE = BigDecimal.TEN;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QuantityWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // disabled so that no background flusher runs; flushes are triggered explicitly
+        buffer = new QuantityWriteBehindBuffer(productRepository, eventPublisher, transactionManager, meterRegistry,
+                false, Duration.ofSeconds(1), 1000, Duration.ofSeconds(1));
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(new Product(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE)));
+    }
+
+    @Test
+    void givenManyDeltas_whenFlush_thenWriteOneCoalescedDelta() {
+        buffer.adjust(PRODUCT_ID, -3);
+        buffer.adjust(PRODUCT_ID, 5);
+        ProductResponse visible = buffer.adjust(PRODUCT_ID, -4);
+        when(productRepository.applyQuantityDeltas(Map.of(PRODUCT_ID, -2)))
+                .thenReturn(List.of(new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 8, PRODUCT_PRICE)));
+
+        buffer.flush();
+
+        assertEquals(8, visible.quantity());
+        verify(productRepository, times(1)).findById(PRODUCT_ID);
+        verify(productRepository).applyQuantityDeltas(Map.of(PRODUCT_ID, -2));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE),
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 8, PRODUCT_PRICE)));
+        assertEquals(1.0, meterRegistry.get("inventory.write_behind.flush").timer().count());
+    }
+
+    @Test
+    void givenPendingDelta_whenOverlay_thenReadSeesIt() {
+        buffer.adjust(PRODUCT_ID, 7);
+
+        ProductResponse stored = new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE);
+
+        assertEquals(17, buffer.overlay(stored).quantity());
+        assertEquals(1.0, meterRegistry.get("inventory.write_behind.pending.products").gauge().value());
+    }
+
+    @Test
+    void givenDeltaPastMaximum_whenAdjust_thenRejectWithoutBuffering() {
+        assertThrows(QuantityOutOfRangeException.class, () -> buffer.adjust(PRODUCT_ID, Integer.MAX_VALUE));
+
+        buffer.flush();
+
+        verify(productRepository, never()).applyQuantityDeltas(any());
+        assertEquals(10, buffer.visibleQuantity(PRODUCT_ID));
+    }
+
+    @Test
+    void givenDeltaBelowZero_whenAdjust_thenRejectWithoutBuffering() {
+        assertThrows(InsufficientStockException.class, () -> buffer.adjust(PRODUCT_ID, -11));
+
+        buffer.flush();
+
+        verify(productRepository, never()).applyQuantityDeltas(any());
+    }
+
+    @Test
+    void givenDeltaRejectedByDatabase_whenFlush_thenRevertVisibleQuantity() {
+        buffer.adjust(PRODUCT_ID, -10);
+        when(productRepository.applyQuantityDeltas(Map.of(PRODUCT_ID, -10))).thenReturn(List.of());
+
+        buffer.flush();
+
+        assertEquals(10, buffer.overlay(new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE)).quantity());
+        assertEquals(1.0, meterRegistry.get("inventory.write_behind.rejected").counter().count());
+        verify(eventPublisher).publishEvent(new QuantityDeltaRejectedEvent(PRODUCT_ID, -10));
+    }
+
+    @Test
+    void givenChangeCommittedOutsideBuffer_whenOverlay_thenPendingDeltaAppliesToNewQuantity() {
+        buffer.adjust(PRODUCT_ID, -3);
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(new Product(PRODUCT_ID, PRODUCT_NAME, 4, PRODUCT_PRICE)));
+
+        buffer.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE),
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 4, PRODUCT_PRICE), true));
+
+        assertEquals(1, buffer.overlay(new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 4, PRODUCT_PRICE)).quantity());
+        assertThrows(InsufficientStockException.class, () -> buffer.adjust(PRODUCT_ID, -2));
+    }
+
+    @Test
+    void givenChangesCommittedElsewhereArrivingOutOfOrder_whenAdjust_thenCheckedAgainstRereadQuantity() {
+        buffer.adjust(PRODUCT_ID, 0);
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(new Product(PRODUCT_ID, PRODUCT_NAME, 5, PRODUCT_PRICE)));
+
+        buffer.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 7, PRODUCT_PRICE),
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 5, PRODUCT_PRICE)));
+        buffer.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 10, PRODUCT_PRICE),
+                new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 7, PRODUCT_PRICE)));
+
+        assertThrows(InsufficientStockException.class, () -> buffer.adjust(PRODUCT_ID, -6));
+        assertEquals(5, buffer.visibleQuantity(PRODUCT_ID));
+        buffer.adjust(PRODUCT_ID, -5);
+        verify(productRepository, times(2)).findById(PRODUCT_ID);
+    }
+
+    @Test
+    void givenChangesMissed_whenResync_thenCommittedQuantityReloadedUnderPendingDelta() {
+        buffer.adjust(PRODUCT_ID, -3);
+        when(productRepository.findAllById(Set.of(PRODUCT_ID)))
+                .thenReturn(List.of(new Product(PRODUCT_ID, PRODUCT_NAME, 6, PRODUCT_PRICE)));
+
+        buffer.onResync(new ProductResyncEvent("test"));
+
+        assertEquals(3, buffer.visibleQuantity(PRODUCT_ID));
+    }
+
+    @Test
+    void givenFlushCommitDeliveredToListener_whenFlush_thenDeltaIsCountedOnce() {
+        buffer.adjust(PRODUCT_ID, -4);
+        when(productRepository.applyQuantityDeltas(Map.of(PRODUCT_ID, -4)))
+                .thenReturn(List.of(new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 6, PRODUCT_PRICE)));
+        doAnswer(invocation -> {
+            buffer.onProductChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+
+        buffer.flush();
+        buffer.adjust(PRODUCT_ID, 1);
+
+        assertEquals(7, buffer.overlay(new ProductResponse(PRODUCT_ID, PRODUCT_NAME, 6, PRODUCT_PRICE)).quantity());
+    }
+}
@@ -0,0 +1,116 @@
+package com.safereach.inventory_system.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, Integer> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void givenConcurrentCallsForSameKey_whenExecute_thenQueryRunsOnceAndAllShareResult() throws Exception {
+        int callers = 50;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("hot", key -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            awaitShared(callers - 1);
+            release.countDown();
+        }
+
+        for (Future<Integer> result : results) {
+            assertEquals(42, result.get());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1.0, calls("executed"));
+        assertEquals(callers - 1.0, calls("shared"));
+    }
+
+    @Test
+    void givenFailingQuery_whenCallersShareIt_thenEveryCallerSeesTheSameException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        Future<Integer> leader;
+        Future<Integer> follower;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            leader = executor.submit(() -> singleFlight.execute("hot", key -> {
+                await(release);
+                throw failure;
+            }));
+            awaitExecuted();
+            follower = executor.submit(() -> singleFlight.execute("hot", key -> 1));
+            awaitShared(1);
+            release.countDown();
+        }
+
+        assertSame(failure, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, follower::get).getCause());
+    }
+
+    @Test
+    void givenCompletedCall_whenExecuteAgain_thenResultIsNotReused() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("key", key -> executions.incrementAndGet()));
+        assertEquals(2, singleFlight.execute("key", key -> executions.incrementAndGet()));
+        assertEquals(3, singleFlight.execute("other", key -> executions.incrementAndGet()));
+
+        assertEquals(0.0, calls("shared"));
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("inventory.coalescing.calls").tag("query", "test").tag("result", result)
+                .counter().count();
+    }
+
+    private void awaitExecuted() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("executed") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitShared(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("shared") < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.safereach.inventory_system.service;
+
+import com.safereach.inventory_system.dto.ProductResponse;
+import com.safereach.inventory_system.dto.ReservationResponse;
+import com.safereach.inventory_system.entity.Product;
+import com.safereach.inventory_system.event.ProductChangedEvent;
+import com.safereach.inventory_system.event.ProductResyncEvent;
+import com.safereach.inventory_system.event.QuantityBufferedEvent;
+import com.safereach.inventory_system.event.QuantityDeltaRejectedEvent;
+import com.safereach.inventory_system.exception.InsufficientStockException;
+import com.safereach.inventory_system.exception.ProductNotFoundException;
+import com.safereach.inventory_system.exception.ReservationNotFoundException;
+import com.safereach.inventory_system.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final ProductResponse PRODUCT = new ProductResponse(PRODUCT_ID, "Monitor", 5, BigDecimal.TEN);
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QuantityWriteBehindBuffer buffer;
+
+    private StockReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = create(Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationService.shutdown();
+    }
+
+    @Test
+    void givenStock_whenReserve_thenHoldPlacedWithoutTouchingDatabase() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 2);
+
+        assertEquals(PRODUCT_ID, reservation.productId());
+        assertEquals(2, reservation.quantity());
+        assertEquals(3L, reservationService.available(PRODUCT_ID));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenHeldStock_whenReserveMoreThanRemains_thenRejected() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        reservationService.reserve(PRODUCT_ID, 4);
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(PRODUCT_ID, 2));
+        assertEquals(1L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenUnknownProduct_whenReserve_thenNotFound() {
+        when(productService.getProductById(PRODUCT_ID)).thenThrow(new ProductNotFoundException("missing"));
+
+        assertThrows(ProductNotFoundException.class, () -> reservationService.reserve(PRODUCT_ID, 1));
+        assertNull(reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenHold_whenConfirm_thenQuantityDecrementedOnce() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 2);
+        reservationService.reserve(PRODUCT_ID, 1);
+        whenAdjustedCommit(-2, 3);
+
+        ProductResponse product = reservationService.confirm(PRODUCT_ID, reservation.id());
+
+        assertEquals(3, product.quantity());
+        assertEquals(2L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenConfirmedHold_whenConfirmOrReleaseAgain_thenNotFound() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 2);
+        whenAdjustedCommit(-2, 3);
+        reservationService.confirm(PRODUCT_ID, reservation.id());
+
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.confirm(PRODUCT_ID, reservation.id()));
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.release(PRODUCT_ID, reservation.id()));
+    }
+
+    @Test
+    void givenStockSoldElsewhere_whenConfirm_thenInsufficientStockAndHoldReturned() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 2);
+        reservationService.reserve(PRODUCT_ID, 1);
+        when(productService.adjustProductQuantity(PRODUCT_ID, -2))
+                .thenThrow(new InsufficientStockException("sold out"));
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.confirm(PRODUCT_ID, reservation.id()));
+        assertEquals(4L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenHold_whenRelease_thenUnitsAvailableAndCountersDroppedOnceIdle() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 5);
+
+        reservationService.release(PRODUCT_ID, reservation.id());
+
+        assertNull(reservationService.available(PRODUCT_ID));
+        reservationService.reserve(PRODUCT_ID, 5);
+        verify(productService, times(2)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    void givenHoldForOtherProduct_whenRelease_thenNotFound() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 1);
+
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.release(UUID.randomUUID(), reservation.id()));
+    }
+
+    @Test
+    void givenQuantityChangedElsewhere_whenProductChanged_thenAvailabilityFollowsDelta() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        reservationService.reserve(PRODUCT_ID, 1);
+
+        reservationService.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                PRODUCT, new ProductResponse(PRODUCT_ID, PRODUCT.name(), 2, PRODUCT.price())));
+
+        assertEquals(1L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenChangesMissed_whenResync_thenAvailabilityReloaded() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT,
+                new ProductResponse(PRODUCT_ID, PRODUCT.name(), 2, PRODUCT.price()));
+        reservationService.reserve(PRODUCT_ID, 1);
+
+        reservationService.onResync(new ProductResyncEvent("test"));
+
+        assertEquals(1L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenWriteBehind_whenStockSoldThroughBuffer_thenHoldsCannotOversell() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(new Product(PRODUCT_ID, PRODUCT.name(), 5, PRODUCT.price())));
+        when(productService.adjustProductQuantity(eq(PRODUCT_ID), anyInt()))
+                .thenAnswer(invocation -> buffer.adjust(PRODUCT_ID, invocation.getArgument(1)));
+        ReservationResponse first = reservationService.reserve(PRODUCT_ID, 1);
+        reservationService.reserve(PRODUCT_ID, 1);
+
+        buffer.adjust(PRODUCT_ID, -3);
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(PRODUCT_ID, 1));
+        assertEquals(1, reservationService.confirm(PRODUCT_ID, first.id()).quantity());
+        assertEquals(0L, reservationService.available(PRODUCT_ID));
+
+        when(productRepository.applyQuantityDeltas(Map.of(PRODUCT_ID, -4)))
+                .thenReturn(List.of(new ProductResponse(PRODUCT_ID, PRODUCT.name(), 1, PRODUCT.price())));
+        buffer.flush();
+
+        assertEquals(0L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenWriteBehind_whenBufferedDeltaRejected_thenAvailabilityRestored() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        when(productRepository.findById(PRODUCT_ID))
+                .thenReturn(Optional.of(new Product(PRODUCT_ID, PRODUCT.name(), 5, PRODUCT.price())));
+        reservationService.reserve(PRODUCT_ID, 1);
+        buffer.adjust(PRODUCT_ID, -4);
+        assertEquals(0L, reservationService.available(PRODUCT_ID));
+
+        when(productRepository.applyQuantityDeltas(Map.of(PRODUCT_ID, -4))).thenReturn(List.of());
+        buffer.flush();
+
+        assertEquals(4L, reservationService.available(PRODUCT_ID));
+    }
+
+    @Test
+    void givenHoldNotSettled_whenTtlElapses_thenUnitsReturned() throws InterruptedException {
+        reservationService.shutdown();
+        reservationService = create(Duration.ofMillis(200));
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(PRODUCT);
+        ReservationResponse reservation = reservationService.reserve(PRODUCT_ID, 5);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (reservationService.available(PRODUCT_ID) != null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertNull(reservationService.available(PRODUCT_ID));
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.release(PRODUCT_ID, reservation.id()));
+    }
+
+    private StockReservationService create(Duration ttl) {
+        StockReservationService[] self = new StockReservationService[1];
+        buffer = new QuantityWriteBehindBuffer(productRepository, event -> publish(self[0], event), transactionManager,
+                new SimpleMeterRegistry(), false, Duration.ofSeconds(1), 1000, Duration.ofSeconds(1));
+        self[0] = new StockReservationService(productService, buffer, new SimpleMeterRegistry(),
+                ttl, 4, Duration.ofMillis(50), 64);
+        return self[0];
+    }
+
+    private void publish(StockReservationService reservations, Object event) {
+        switch (event) {
+            case ProductChangedEvent changed -> {
+                buffer.onProductChanged(changed);
+                reservations.onProductChanged(changed);
+            }
+            case QuantityBufferedEvent buffered -> reservations.onQuantityBuffered(buffered);
+            case QuantityDeltaRejectedEvent rejected -> reservations.onQuantityDeltaRejected(rejected);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Stubs a committed database adjustment, which announces itself the way {@link ProductService} does.
+     */
+    private void whenAdjustedCommit(int delta, int quantity) {
+        ProductResponse after = new ProductResponse(PRODUCT_ID, PRODUCT.name(), quantity, PRODUCT.price());
+        when(productService.adjustProductQuantity(PRODUCT_ID, delta)).thenAnswer(invocation -> {
+            ProductResponse before = new ProductResponse(PRODUCT_ID, PRODUCT.name(), quantity - delta, PRODUCT.price());
+            publish(reservationService, new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED, before, after));
+            return after;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.safereach.inventory_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedAvailabilityTest {
+
+    @Test
+    void givenUnitsSpreadAcrossStripes_whenAcquireAll_thenSucceedUntilExhausted() {
+        StripedAvailability availability = new StripedAvailability(8, 10);
+
+        assertTrue(availability.tryAcquire(7));
+        assertTrue(availability.tryAcquire(3));
+        assertFalse(availability.tryAcquire(1));
+        assertEquals(0, availability.available());
+    }
+
+    @Test
+    void givenRelease_whenAcquire_thenUnitsAvailableAgain() {
+        StripedAvailability availability = new StripedAvailability(4, 2);
+        assertTrue(availability.tryAcquire(2));
+
+        availability.release(2);
+
+        assertTrue(availability.tryAcquire(2));
+    }
+
+    @Test
+    void givenNegativeAdjustmentBeyondAvailable_whenAcquire_thenRejectedUntilStockReturns() {
+        StripedAvailability availability = new StripedAvailability(4, 8);
+
+        availability.adjust(-10);
+
+        assertEquals(-2, availability.available());
+        assertFalse(availability.tryAcquire(1));
+        availability.adjust(3);
+        assertTrue(availability.tryAcquire(1));
+        assertFalse(availability.tryAcquire(1));
+    }
+
+    @Test
+    void givenContendedReservers_whenAcquireAndRelease_thenNeverOversell() throws InterruptedException {
+        int stock = 1_000;
+        StripedAvailability availability = new StripedAvailability(16, stock);
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 32; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < 20_000; i++) {
+                    int units = 1 + (i % 3);
+                    if (availability.tryAcquire(units)) {
+                        maxHeld.accumulateAndGet(held.addAndGet(units), Math::max);
+                        acquired.incrementAndGet();
+                        if (i % 2 == 0) {
+                            held.addAndGet(-units);
+                            availability.release(units);
+                        }
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(maxHeld.get() <= stock, "held " + maxHeld.get() + " of " + stock);
+        assertEquals(stock, held.get() + availability.available());
+        assertTrue(acquired.get() > 0);
+    }
+
+    @Test
+    void givenLastUnits_whenManyThreadsRace_thenExactlyStockGranted() throws InterruptedException {
+        StripedAvailability availability = new StripedAvailability(16, 100);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 1_000; t++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                awaitQuietly(start);
+                if (availability.tryAcquire(1)) {
+                    granted.incrementAndGet();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+        assertEquals(0, availability.available());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
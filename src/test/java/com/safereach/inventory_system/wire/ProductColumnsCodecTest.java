@@ -0,0 +1,91 @@
+package com.safereach.inventory_system.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safereach.inventory_system.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductColumnsCodecTest {
+    private static final ProductResponse PRODUCT = new ProductResponse(
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "Câble \"USB-C\", 2m", 3, new BigDecimal("9.90"));
+    private static final ProductResponse PRODUCT_2 = new ProductResponse(
+            UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"), "Monitor", 0, new BigDecimal("199.00"));
+
+    @Test
+    void givenProducts_whenEncodeAndDecode_thenSameProducts() throws IOException {
+        List<ProductResponse> decoded = ProductColumnsDecoder.decode(ProductColumnsEncoder.encode(List.of(PRODUCT, PRODUCT_2)));
+
+        assertEquals(List.of(PRODUCT, PRODUCT_2), decoded);
+    }
+
+    @Test
+    void givenNoProducts_whenEncodeAndDecode_thenEmptyList() throws IOException {
+        assertEquals(List.of(), ProductColumnsDecoder.decode(ProductColumnsEncoder.encode(List.of())));
+    }
+
+    @Test
+    void givenPricesWithDifferentScales_whenDecode_thenValuesKeptAtCommonScale() throws IOException {
+        ProductResponse cheap = new ProductResponse(PRODUCT.id(), "Cheap", 1, new BigDecimal("5"));
+        ProductResponse precise = new ProductResponse(PRODUCT_2.id(), "Precise", 1, new BigDecimal("0.125"));
+
+        List<ProductResponse> decoded = ProductColumnsDecoder.decode(ProductColumnsEncoder.encode(List.of(cheap, precise)));
+
+        assertEquals(new BigDecimal("5.000"), decoded.get(0).price());
+        assertEquals(new BigDecimal("0.125"), decoded.get(1).price());
+    }
+
+    @Test
+    void givenMoreRowsThanBlockSize_whenReadBlocks_thenRowsSplitAcrossBlocks() throws IOException {
+        List<ProductResponse> products = products(10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProductColumnsEncoder encoder = new ProductColumnsEncoder(out, 4);
+        encoder.writeAll(products);
+        encoder.finish();
+
+        ProductColumnsDecoder decoder = new ProductColumnsDecoder(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(products.subList(0, 4), decoder.readBlock());
+        assertEquals(products.subList(4, 8), decoder.readBlock());
+        assertEquals(products.subList(8, 10), decoder.readBlock());
+        assertNull(decoder.readBlock());
+    }
+
+    @Test
+    void givenPage_whenEncode_thenFractionOfJsonSize() throws IOException {
+        List<ProductResponse> products = products(1_000);
+
+        int json = new ObjectMapper().writeValueAsBytes(products).length;
+        int columns = ProductColumnsEncoder.encode(products).length;
+
+        assertTrue(columns * 2 < json, "columns=" + columns + " json=" + json);
+    }
+
+    @Test
+    void givenForeignBytes_whenDecode_thenRejected() {
+        assertThrows(IOException.class, () -> ProductColumnsDecoder.decode("[{\"id\":1}]".getBytes()));
+    }
+
+    @Test
+    void givenTruncatedStream_whenDecode_thenRejected() {
+        byte[] encoded = ProductColumnsEncoder.encode(List.of(PRODUCT, PRODUCT_2));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 4);
+
+        assertThrows(IOException.class, () -> ProductColumnsDecoder.decode(truncated));
+    }
+
+    private static List<ProductResponse> products(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ProductResponse(UUID.randomUUID(), "Product " + i, i % 500, BigDecimal.valueOf(100 + i * 7L, 2)))
+                .toList();
+    }
+}